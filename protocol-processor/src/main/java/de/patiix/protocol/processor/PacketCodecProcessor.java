@@ -0,0 +1,368 @@
+package de.patiix.protocol.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+@SupportedAnnotationTypes(PacketCodecProcessor.PACKET_CODEC)
+public class PacketCodecProcessor extends AbstractProcessor {
+
+    static final String PACKET_CODEC = "de.patiix.protocol.packet.codec.PacketCodec";
+    static final String PACKET_FIELD = "de.patiix.protocol.packet.codec.PacketField";
+
+    private static final String SERIALIZER = "de.patiix.protocol.packet.serializer.";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    this.error(element, "@PacketCodec is only supported on classes");
+                    continue;
+                }
+
+                try {
+                    this.generate((TypeElement) element);
+                } catch (IOException exception) {
+                    this.error(element, "unable to write codec: " + exception.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String codecName = this.getCodecName(type);
+        String typeName = this.processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        Map<String, String> constants = new LinkedHashMap<>();
+        List<String> reads = new ArrayList<>();
+        List<String> writes = new ArrayList<>();
+
+        for (VariableElement field : this.getFields(type)) {
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                this.error(field, "@PacketField fields must not be private or final");
+                return;
+            }
+
+            String name = "packet." + field.getSimpleName();
+            Codec codec = this.getCodec(field, field.asType(), name, this.isCompact(field), constants);
+            if (codec == null) {
+                this.error(field, "unsupported @PacketField type " + field.asType());
+                return;
+            }
+
+            reads.add(codec.read);
+            writes.add(codec.write);
+        }
+
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(packageName + "." + codecName, type).openWriter()) {
+            if (!(packageName.isEmpty())) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("import de.patiix.protocol.packet.PacketBuffer;\n\n");
+            writer.write("@javax.annotation.processing.Generated(\"" + PacketCodecProcessor.class.getName() + "\")\n");
+            writer.write("public final class " + codecName + " {\n\n");
+
+            for (Map.Entry<String, String> constant : constants.entrySet()) {
+                writer.write("    private static final " + constant.getValue() + ";\n");
+            }
+            if (!(constants.isEmpty())) {
+                writer.write("\n");
+            }
+
+            writer.write("    private " + codecName + "() {\n    }\n\n");
+
+            writer.write("    public static void read(PacketBuffer buffer, " + typeName + " packet) {\n");
+            for (String read : reads) {
+                writer.write("        " + read + "\n");
+            }
+            writer.write("    }\n\n");
+
+            writer.write("    public static void write(PacketBuffer buffer, " + typeName + " packet) {\n");
+            for (String write : writes) {
+                writer.write("        " + write + "\n");
+            }
+            writer.write("    }\n\n");
+
+            writer.write("}\n");
+        }
+    }
+
+    private List<VariableElement> getFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            fields.addAll(this.getFields((TypeElement) ((DeclaredType) superclass).asElement()));
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (this.getAnnotation(field, PACKET_FIELD) != null && !(field.getModifiers().contains(Modifier.STATIC))) {
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    private Codec getCodec(Element field, TypeMirror type, String name, boolean compact, Map<String, String> constants) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return this.primitive(name, "Boolean");
+            case BYTE:
+                return this.primitive(name, "Byte");
+            case SHORT:
+                return this.primitive(name, "Short");
+            case CHAR:
+                return this.primitive(name, "Char");
+            case INT:
+                return this.primitive(name, compact ? "ZigZagInt" : "Int");
+            case LONG:
+                return this.primitive(name, compact ? "ZigZagLong" : "Long");
+            case FLOAT:
+                return this.primitive(name, "Float");
+            case DOUBLE:
+                return this.primitive(name, "Double");
+            case ARRAY:
+                String component = ((ArrayType) type).getComponentType().toString();
+                switch (component) {
+                    case "byte":
+                        return this.primitive(name, "ByteArray");
+                    case "int":
+                        return this.primitive(name, "IntArray");
+                    case "long":
+                        return this.primitive(name, "LongArray");
+                    default:
+                        return null;
+                }
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement element = (TypeElement) declaredType.asElement();
+        String qualifiedName = element.getQualifiedName().toString();
+
+        switch (qualifiedName) {
+            case "java.lang.Boolean":
+                return this.primitive(name, "Boolean");
+            case "java.lang.Byte":
+                return this.primitive(name, "Byte");
+            case "java.lang.Short":
+                return this.primitive(name, "Short");
+            case "java.lang.Character":
+                return this.primitive(name, "Char");
+            case "java.lang.Integer":
+                return this.primitive(name, compact ? "ZigZagInt" : "Int");
+            case "java.lang.Long":
+                return this.primitive(name, compact ? "ZigZagLong" : "Long");
+            case "java.lang.Float":
+                return this.primitive(name, "Float");
+            case "java.lang.Double":
+                return this.primitive(name, "Double");
+            case "java.lang.String":
+                return this.primitive(name, "String");
+            case "java.util.UUID":
+                return this.primitive(name, "UUID");
+            case "it.unimi.dsi.fastutil.ints.IntList":
+                return this.primitive(name, "IntList");
+            case "it.unimi.dsi.fastutil.longs.LongList":
+                return this.primitive(name, "LongList");
+            case "it.unimi.dsi.fastutil.ints.Int2IntMap":
+                return this.primitive(name, "Int2IntMap");
+            case "it.unimi.dsi.fastutil.longs.Long2LongMap":
+                return this.primitive(name, "Long2LongMap");
+            case "java.util.List": {
+                String serializer = this.getSerializer(declaredType.getTypeArguments().get(0), compact, constants);
+                if (serializer == null) {
+                    return null;
+                }
+                return new Codec(name + " = buffer.readList(" + serializer + ");", "buffer.writeList(" + name + ", " + serializer + ");");
+            }
+            case "java.util.Map": {
+                String keySerializer = this.getSerializer(declaredType.getTypeArguments().get(0), compact, constants);
+                String valueSerializer = this.getSerializer(declaredType.getTypeArguments().get(1), compact, constants);
+                if (keySerializer == null || valueSerializer == null) {
+                    return null;
+                }
+                return new Codec(name + " = buffer.readMap(" + keySerializer + ", " + valueSerializer + ");",
+                        "buffer.writeMap(" + name + ", " + keySerializer + ", " + valueSerializer + ");");
+            }
+            default:
+                break;
+        }
+
+        String typeName = this.processingEnv.getTypeUtils().erasure(type).toString();
+
+        if (element.getKind() == ElementKind.ENUM) {
+            String constant = field.getSimpleName().toString().toUpperCase() + "_VALUES";
+            constants.put(constant, typeName + "[] " + constant + " = " + typeName + ".values()");
+
+            return new Codec(name + " = " + constant + "[buffer.readVarInt()];", "buffer.writeVarInt(" + name + ".ordinal());");
+        }
+
+        if (this.getAnnotation(element, PACKET_CODEC) != null && this.hasDefaultConstructor(element)) {
+            String codec = this.getPackageName(element) + this.getCodecName(element);
+
+            return new Codec(name + " = new " + typeName + "(); " + codec + ".read(buffer, " + name + ");",
+                    codec + ".write(buffer, " + name + ");");
+        }
+
+        return null;
+    }
+
+    private String getSerializer(TypeMirror type, boolean compact, Map<String, String> constants) {
+        String serializer;
+        switch (this.processingEnv.getTypeUtils().erasure(type).toString()) {
+            case "java.lang.String":
+                serializer = "StringSerializer";
+                break;
+            case "java.util.UUID":
+                serializer = "UUIDSerializer";
+                break;
+            case "java.lang.Integer":
+                serializer = compact ? "ZigZagIntegerSerializer" : "IntegerSerializer";
+                break;
+            case "java.lang.Long":
+                serializer = compact ? "ZigZagLongSerializer" : "LongSerializer";
+                break;
+            case "java.lang.Float":
+                serializer = "FloatSerializer";
+                break;
+            case "java.lang.Double":
+                serializer = "DoubleSerializer";
+                break;
+            default:
+                return null;
+        }
+
+        String constant = serializer.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+        constants.put(constant, SERIALIZER + serializer + " " + constant + " = new " + SERIALIZER + serializer + "()");
+
+        return constant;
+    }
+
+    private Codec primitive(String name, String method) {
+        return new Codec(name + " = buffer.read" + method + "();", "buffer.write" + method + "(" + name + ");");
+    }
+
+    private boolean hasDefaultConstructor(TypeElement element) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !(constructor.getModifiers().contains(Modifier.PRIVATE))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCompact(Element field) {
+        AnnotationMirror annotation = this.getAnnotation(field, PACKET_FIELD);
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("compact")) {
+                return (Boolean) entry.getValue().getValue();
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror getAnnotation(Element element, String annotation) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return annotationMirror;
+            }
+        }
+        return null;
+    }
+
+    private String getPackageName(TypeElement type) {
+        PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(type);
+
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName() + ".";
+    }
+
+    private String getCodecName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name.append("Codec").toString();
+    }
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Codec {
+
+        private final String read;
+        private final String write;
+
+        private Codec(String read, String write) {
+            this.read = read;
+            this.write = write;
+        }
+
+    }
+
+}
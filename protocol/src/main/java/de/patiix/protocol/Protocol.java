@@ -32,20 +32,20 @@ public class Protocol {
 
     public static SocketClient createClient(SocketConfig config, Object key) {
         SocketClient socketClient = new SocketClient(config, key);
-        socketClient.registerPacket(Integer.MAX_VALUE, new SocketInitPacket());
+        socketClient.registerPacket(Integer.MAX_VALUE, SocketInitPacket.class, SocketInitPacket::new);
 
         return socketClient;
     }
 
     public static SocketServer createServer(SocketConfig config) {
         SocketServer socketServer = new SocketServer(config);
-        socketServer.registerPacket(Integer.MAX_VALUE, new SocketInitPacket());
+        socketServer.registerPacket(Integer.MAX_VALUE, SocketInitPacket.class, SocketInitPacket::new);
         socketServer.registerListener(SocketInitPacket.class, (packet, channel) -> {
             if (!(config.getKey().isAssignableFrom(packet.getKey().getClass()))) {
                 throw new ClassCastException("unable to read key");
             }
 
-            socketServer.getChannels().put(packet.getKey(), channel);
+            socketServer.registerChannel(packet.getKey(), channel, packet.getPool());
         });
 
         return socketServer;
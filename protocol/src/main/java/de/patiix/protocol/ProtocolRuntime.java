@@ -0,0 +1,95 @@
+package de.patiix.protocol;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.PromiseCombiner;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class ProtocolRuntime {
+
+    private static ProtocolRuntime shared;
+
+    private final Transport transport;
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+
+    public ProtocolRuntime() {
+        this(1, 0, "protocol");
+    }
+
+    public ProtocolRuntime(int bossThreads, int workerThreads, String name) {
+        this.transport = Transport.get();
+        this.bossGroup = this.transport.newEventLoopGroup(bossThreads, new DefaultThreadFactory(name + "-boss"));
+        this.workerGroup = this.transport.newEventLoopGroup(workerThreads, new DefaultThreadFactory(name + "-worker"));
+    }
+
+    public static synchronized ProtocolRuntime getShared() {
+        if (shared == null || shared.isShuttingDown()) {
+            shared = new ProtocolRuntime();
+        }
+        return shared;
+    }
+
+    public Future<Void> shutdownGracefully() {
+        Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+
+        PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
+        promiseCombiner.add(this.bossGroup.shutdownGracefully());
+        promiseCombiner.add(this.workerGroup.shutdownGracefully());
+        promiseCombiner.finish(promise);
+
+        return promise;
+    }
+
+    public boolean isShuttingDown() {
+        return this.bossGroup.isShuttingDown() || this.workerGroup.isShuttingDown();
+    }
+
+    public Transport getTransport() {
+        return this.transport;
+    }
+
+    public EventLoopGroup getBossGroup() {
+        return this.bossGroup;
+    }
+
+    public EventLoopGroup getWorkerGroup() {
+        return this.workerGroup;
+    }
+
+    public Class<? extends SocketChannel> getSocketChannel() {
+        return this.transport.getSocketChannel();
+    }
+
+    public Class<? extends ServerSocketChannel> getServerSocketChannel() {
+        return this.transport.getServerSocketChannel();
+    }
+
+}
@@ -1,19 +1,9 @@
 package de.patiix.protocol;
 
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.epoll.Epoll;
-import io.netty.channel.epoll.EpollEventLoopGroup;
-import io.netty.channel.epoll.EpollServerSocketChannel;
-import io.netty.channel.epoll.EpollSocketChannel;
-import io.netty.channel.kqueue.KQueue;
-import io.netty.channel.kqueue.KQueueEventLoopGroup;
-import io.netty.channel.kqueue.KQueueServerSocketChannel;
-import io.netty.channel.kqueue.KQueueSocketChannel;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.CorruptedFrameException;
 import java.lang.reflect.Field;
 
 /*
@@ -41,19 +31,58 @@ import java.lang.reflect.Field;
  */
 public class ProtocolUtil {
 
-    private static final boolean EPOLL = Epoll.isAvailable();
-    private static final boolean KQUEUE = KQueue.isAvailable();
-
     public static Class<? extends SocketChannel> getSocketChannel() {
-        return EPOLL ? EpollSocketChannel.class : KQUEUE ? KQueueSocketChannel.class : NioSocketChannel.class;
+        return Transport.get().getSocketChannel();
     }
 
     public static Class<? extends ServerSocketChannel> getServerSocketChannel() {
-        return EPOLL ? EpollServerSocketChannel.class : KQUEUE ? KQueueServerSocketChannel.class : NioServerSocketChannel.class;
+        return Transport.get().getServerSocketChannel();
+    }
+
+    public static int getVarIntSize(int value) {
+        if ((value & 0xFFFFFF80) == 0) {
+            return 1;
+        } else if ((value & 0xFFFFC000) == 0) {
+            return 2;
+        } else if ((value & 0xFFE00000) == 0) {
+            return 3;
+        } else if ((value & 0xF0000000) == 0) {
+            return 4;
+        }
+        return 5;
+    }
+
+    public static void setVarInt(ByteBuf buf, int index, int value, int size) {
+        for (int i = 0; i < size - 1; i++) {
+            buf.setByte(index + i, (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buf.setByte(index + size - 1, value);
     }
 
-    public static EventLoopGroup getEventLoopGroup() {
-        return EPOLL ? new EpollEventLoopGroup() : KQUEUE ? new KQueueEventLoopGroup() : new NioEventLoopGroup();
+    public static int readVarInt(ByteBuf buf) {
+        int value = 0;
+
+        for (int i = 0; i < 5; i++) {
+            byte data = buf.readByte();
+            value |= (data & 0x7F) << (i * 7);
+
+            if ((data & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new CorruptedFrameException("varint exceeds 5 bytes");
+    }
+
+    public static void writeVarInt(ByteBuf buf, int value) {
+        while ((value & 0xFFFFFF80) != 0) {
+            buf.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buf.writeByte(value);
     }
 
     public static Object get(Object fieldClass, String fieldName) {
@@ -0,0 +1,105 @@
+package de.patiix.protocol;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueEventLoopGroup;
+import io.netty.channel.kqueue.KQueueServerSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public enum Transport {
+
+    EPOLL,
+    KQUEUE,
+    NIO;
+
+    public static Transport get() {
+        return Holder.TRANSPORT;
+    }
+
+    public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        switch (this) {
+            case EPOLL:
+                return new EpollEventLoopGroup(threads, threadFactory);
+            case KQUEUE:
+                return new KQueueEventLoopGroup(threads, threadFactory);
+            default:
+                return new NioEventLoopGroup(threads, threadFactory);
+        }
+    }
+
+    public Class<? extends SocketChannel> getSocketChannel() {
+        switch (this) {
+            case EPOLL:
+                return EpollSocketChannel.class;
+            case KQUEUE:
+                return KQueueSocketChannel.class;
+            default:
+                return NioSocketChannel.class;
+        }
+    }
+
+    public Class<? extends ServerSocketChannel> getServerSocketChannel() {
+        switch (this) {
+            case EPOLL:
+                return EpollServerSocketChannel.class;
+            case KQUEUE:
+                return KQueueServerSocketChannel.class;
+            default:
+                return NioServerSocketChannel.class;
+        }
+    }
+
+    private static final class Holder {
+
+        // only the native transport of the running os is probed, so kqueue classes are never loaded on linux and vice versa
+        private static final Transport TRANSPORT = detect();
+
+        private static Transport detect() {
+            String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+
+            if (os.contains("linux") && Epoll.isAvailable()) {
+                return EPOLL;
+            }
+            if ((os.contains("mac") || os.contains("bsd")) && KQueue.isAvailable()) {
+                return KQUEUE;
+            }
+            return NIO;
+        }
+
+    }
+
+}
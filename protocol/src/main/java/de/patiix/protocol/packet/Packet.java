@@ -0,0 +1,105 @@
+package de.patiix.protocol.packet;
+
+import io.netty.util.Recycler;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public abstract class Packet {
+
+    private static final AtomicIntegerFieldUpdater<Packet> REFERENCES = AtomicIntegerFieldUpdater.newUpdater(Packet.class, "references");
+
+    private volatile int references;
+    private Recycler.Handle<Packet> handle;
+
+    private int correlationId;
+    private boolean response;
+
+    public abstract void read(PacketBuffer buffer);
+    public abstract void write(PacketBuffer buffer);
+
+    public void reset() {
+    }
+
+    public Packet retain() {
+        if (this.handle != null) {
+            REFERENCES.incrementAndGet(this);
+        }
+        return this;
+    }
+
+    public boolean release() {
+        if (this.handle == null) {
+            return false;
+        }
+
+        int references = REFERENCES.decrementAndGet(this);
+        if (references < 0) {
+            throw new IllegalStateException("packet released too often");
+        }
+
+        if (references == 0) {
+            this.setCorrelation(0, false);
+            this.reset();
+            this.handle.recycle(this);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isRecyclable() {
+        return this.handle != null;
+    }
+
+    public int getPriority() {
+        return 0;
+    }
+
+    public int getStream() {
+        return 0;
+    }
+
+    public void setCorrelation(int correlationId, boolean response) {
+        this.correlationId = correlationId;
+        this.response = response;
+    }
+
+    public int getCorrelationId() {
+        return this.correlationId;
+    }
+
+    public boolean isResponse() {
+        return this.response;
+    }
+
+    void setHandle(Recycler.Handle<Packet> handle) {
+        this.handle = handle;
+    }
+
+    Packet acquire() {
+        REFERENCES.set(this, 1);
+        return this;
+    }
+
+}
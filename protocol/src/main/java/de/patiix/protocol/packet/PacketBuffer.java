@@ -1,9 +1,31 @@
 package de.patiix.protocol.packet;
 
+import de.patiix.protocol.ProtocolUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.CorruptedFrameException;
 import io.netty.util.ByteProcessor;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -46,7 +68,10 @@ import java.util.UUID;
  */
 public class PacketBuffer extends ByteBuf {
 
-    private final ByteBuf buf;
+    private static final ByteProcessor FIND_NON_ASCII = value -> value >= 0;
+
+    private ByteBuf buf;
+    private boolean compact;
 
     public PacketBuffer() {
         this(Unpooled.buffer());
@@ -56,6 +81,24 @@ public class PacketBuffer extends ByteBuf {
         this.buf = buf;
     }
 
+    public ByteBuf getBuf() {
+        return this.buf;
+    }
+
+    public PacketBuffer setBuf(ByteBuf buf) {
+        this.buf = buf;
+        return this;
+    }
+
+    public boolean isCompact() {
+        return this.compact;
+    }
+
+    public PacketBuffer setCompact(boolean compact) {
+        this.compact = compact;
+        return this;
+    }
+
     public <T> T read(PacketBufferSerializer<T> serializer) {
         return serializer.read(this);
     }
@@ -64,6 +107,70 @@ public class PacketBuffer extends ByteBuf {
         serializer.write(this, value);
     }
 
+    public int readVarInt() {
+        return ProtocolUtil.readVarInt(this.buf);
+    }
+
+    public void writeVarInt(int value) {
+        ProtocolUtil.writeVarInt(this.buf, value);
+    }
+
+    public long readVarLong() {
+        long value = 0;
+
+        for (int i = 0; i < 10; i++) {
+            byte data = this.readByte();
+            value |= (long) (data & 0x7F) << (i * 7);
+
+            if ((data & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new CorruptedFrameException("varlong exceeds 10 bytes");
+    }
+
+    public void writeVarLong(long value) {
+        while ((value & 0xFFFFFFFFFFFFFF80L) != 0) {
+            this.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.writeByte((int) value);
+    }
+
+    public int readZigZagInt() {
+        int value = this.readVarInt();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public void writeZigZagInt(int value) {
+        this.writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public long readZigZagLong() {
+        long value = this.readVarLong();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public void writeZigZagLong(long value) {
+        this.writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public int readLength() {
+        return this.compact ? this.readVarInt() : this.readInt();
+    }
+
+    public void writeLength(int value) {
+        if (this.compact) {
+            this.writeVarInt(value);
+        } else {
+            this.writeInt(value);
+        }
+    }
+
     public UUID readUUID() {
         if (this.readableBytes() < 16) {
             throw new IndexOutOfBoundsException();
@@ -82,12 +189,21 @@ public class PacketBuffer extends ByteBuf {
     }
 
     public String readString() {
-        int length = this.readInt();
-        byte[] data = new byte[length];
+        int length = this.readStringLength();
+        String value = decodeString(this.buf, this.readerIndex(), length);
 
-        this.readBytes(data);
+        this.skipBytes(length);
+
+        return value;
+    }
+
+    public String readString(StringCache cache) {
+        int length = this.readStringLength();
+        String value = cache.get(this.buf, this.readerIndex(), length);
+
+        this.skipBytes(length);
 
-        return new String(data, StandardCharsets.UTF_8);
+        return value;
     }
 
     public void writeString(String value) {
@@ -95,15 +211,40 @@ public class PacketBuffer extends ByteBuf {
             value = "";
         }
 
-        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        int length = ByteBufUtil.utf8Bytes(value);
 
-        this.writeInt(data.length);
-        this.writeBytes(data);
+        this.writeLength(length);
+        ByteBufUtil.reserveAndWriteUtf8(this.buf, value, length);
+    }
+
+    public byte[] readByteArray() {
+        int length = this.readLength(Byte.BYTES);
+        byte[] data = new byte[length];
+
+        this.readBytes(data);
+
+        return data;
+    }
+
+    public void writeByteArray(byte[] value) {
+        this.writeLength(value.length);
+        this.writeBytes(value);
+    }
+
+    public ByteBuf readRetainedBuffer() {
+        int length = this.readLength();
+
+        return this.readRetainedSlice(length);
+    }
+
+    public void writeBuffer(ByteBuf value) {
+        this.writeLength(value.readableBytes());
+        this.writeBytes(value, value.readerIndex(), value.readableBytes());
     }
 
     @SuppressWarnings("unchecked")
     public <T> T[] readArray(PacketBufferSerializer<T> serializer, Class<T> serializerClass) {
-        int length = this.readInt();
+        int length = this.readLength();
 
         T[] data = (T[]) Array.newInstance(serializerClass, length);
         for (int i = 0; i < length; i++) {
@@ -114,7 +255,7 @@ public class PacketBuffer extends ByteBuf {
     }
 
     public <T> void writeArray(T[] value, PacketBufferSerializer<T> serializer) {
-        this.writeInt(value.length);
+        this.writeLength(value.length);
 
         for (T item : value) {
             serializer.write(this, item);
@@ -122,7 +263,7 @@ public class PacketBuffer extends ByteBuf {
     }
 
     public <T> List<T> readList(PacketBufferSerializer<T> serializer) {
-        int length = this.readInt();
+        int length = this.readLength();
 
         List<T> data = new ArrayList<>(length);
         for (int i = 0; i < length; i++) {
@@ -133,7 +274,7 @@ public class PacketBuffer extends ByteBuf {
     }
 
     public <T> void writeList(List<T> value, PacketBufferSerializer<T> serializer) {
-        this.writeInt(value.size());
+        this.writeLength(value.size());
 
         for (T item : value) {
             serializer.write(this, item);
@@ -141,7 +282,7 @@ public class PacketBuffer extends ByteBuf {
     }
 
     public <K, V> Map<K, V> readMap(PacketBufferSerializer<K> keySerializer, PacketBufferSerializer<V> valueSerializer) {
-        int length = this.readInt();
+        int length = this.readLength();
 
         Map<K, V> data = new HashMap<>(length);
         for (int i = 0; i < length; i++) {
@@ -152,7 +293,7 @@ public class PacketBuffer extends ByteBuf {
     }
 
     public <K, V> void writeMap(Map<K, V> value, PacketBufferSerializer<K> keySerializer, PacketBufferSerializer<V> valueSerializer) {
-        this.writeInt(value.size());
+        this.writeLength(value.size());
 
         for (Map.Entry<K, V> entry : value.entrySet()) {
             keySerializer.write(this, entry.getKey());
@@ -160,6 +301,207 @@ public class PacketBuffer extends ByteBuf {
         }
     }
 
+    public int[] readIntArray() {
+        int length = this.readLength(Integer.BYTES);
+
+        int[] data = new int[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = this.readInt();
+        }
+
+        return data;
+    }
+
+    public void writeIntArray(int[] value) {
+        this.writeLength(value.length);
+        this.ensureWritable(value.length * Integer.BYTES);
+
+        for (int item : value) {
+            this.writeInt(item);
+        }
+    }
+
+    public long[] readLongArray() {
+        int length = this.readLength(Long.BYTES);
+
+        long[] data = new long[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = this.readLong();
+        }
+
+        return data;
+    }
+
+    public void writeLongArray(long[] value) {
+        this.writeLength(value.length);
+        this.ensureWritable(value.length * Long.BYTES);
+
+        for (long item : value) {
+            this.writeLong(item);
+        }
+    }
+
+    public IntList readIntList() {
+        return IntArrayList.wrap(this.readIntArray());
+    }
+
+    public void writeIntList(IntList value) {
+        int length = value.size();
+
+        this.writeLength(length);
+        this.ensureWritable(length * Integer.BYTES);
+
+        for (int i = 0; i < length; i++) {
+            this.writeInt(value.getInt(i));
+        }
+    }
+
+    public LongList readLongList() {
+        return LongArrayList.wrap(this.readLongArray());
+    }
+
+    public void writeLongList(LongList value) {
+        int length = value.size();
+
+        this.writeLength(length);
+        this.ensureWritable(length * Long.BYTES);
+
+        for (int i = 0; i < length; i++) {
+            this.writeLong(value.getLong(i));
+        }
+    }
+
+    public Int2IntMap readInt2IntMap() {
+        int length = this.readLength(Integer.BYTES * 2);
+
+        Int2IntOpenHashMap data = new Int2IntOpenHashMap(length);
+        for (int i = 0; i < length; i++) {
+            data.put(this.readInt(), this.readInt());
+        }
+
+        return data;
+    }
+
+    public void writeInt2IntMap(Int2IntMap value) {
+        this.writeLength(value.size());
+        this.ensureWritable(value.size() * Integer.BYTES * 2);
+
+        for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(value)) {
+            this.writeInt(entry.getIntKey());
+            this.writeInt(entry.getIntValue());
+        }
+    }
+
+    public Long2LongMap readLong2LongMap() {
+        int length = this.readLength(Long.BYTES * 2);
+
+        Long2LongOpenHashMap data = new Long2LongOpenHashMap(length);
+        for (int i = 0; i < length; i++) {
+            data.put(this.readLong(), this.readLong());
+        }
+
+        return data;
+    }
+
+    public void writeLong2LongMap(Long2LongMap value) {
+        this.writeLength(value.size());
+        this.ensureWritable(value.size() * Long.BYTES * 2);
+
+        for (Long2LongMap.Entry entry : Long2LongMaps.fastIterable(value)) {
+            this.writeLong(entry.getLongKey());
+            this.writeLong(entry.getLongValue());
+        }
+    }
+
+    public <V> Int2ObjectMap<V> readInt2ObjectMap(PacketBufferSerializer<V> valueSerializer) {
+        int length = this.readLength(Integer.BYTES);
+
+        Int2ObjectOpenHashMap<V> data = new Int2ObjectOpenHashMap<>(length);
+        for (int i = 0; i < length; i++) {
+            data.put(this.readInt(), valueSerializer.read(this));
+        }
+
+        return data;
+    }
+
+    public <V> void writeInt2ObjectMap(Int2ObjectMap<V> value, PacketBufferSerializer<V> valueSerializer) {
+        this.writeLength(value.size());
+
+        for (Int2ObjectMap.Entry<V> entry : Int2ObjectMaps.fastIterable(value)) {
+            this.writeInt(entry.getIntKey());
+            valueSerializer.write(this, entry.getValue());
+        }
+    }
+
+    public <V> Long2ObjectMap<V> readLong2ObjectMap(PacketBufferSerializer<V> valueSerializer) {
+        int length = this.readLength(Long.BYTES);
+
+        Long2ObjectOpenHashMap<V> data = new Long2ObjectOpenHashMap<>(length);
+        for (int i = 0; i < length; i++) {
+            data.put(this.readLong(), valueSerializer.read(this));
+        }
+
+        return data;
+    }
+
+    public <V> void writeLong2ObjectMap(Long2ObjectMap<V> value, PacketBufferSerializer<V> valueSerializer) {
+        this.writeLength(value.size());
+
+        for (Long2ObjectMap.Entry<V> entry : Long2ObjectMaps.fastIterable(value)) {
+            this.writeLong(entry.getLongKey());
+            valueSerializer.write(this, entry.getValue());
+        }
+    }
+
+    public <K> Object2IntMap<K> readObject2IntMap(PacketBufferSerializer<K> keySerializer) {
+        int length = this.readLength(Integer.BYTES);
+
+        Object2IntOpenHashMap<K> data = new Object2IntOpenHashMap<>(length);
+        for (int i = 0; i < length; i++) {
+            data.put(keySerializer.read(this), this.readInt());
+        }
+
+        return data;
+    }
+
+    public <K> void writeObject2IntMap(Object2IntMap<K> value, PacketBufferSerializer<K> keySerializer) {
+        this.writeLength(value.size());
+
+        for (Object2IntMap.Entry<K> entry : Object2IntMaps.fastIterable(value)) {
+            keySerializer.write(this, entry.getKey());
+            this.writeInt(entry.getIntValue());
+        }
+    }
+
+    private int readStringLength() {
+        int length = this.readLength();
+        if (length < 0 || length > this.readableBytes()) {
+            throw new IndexOutOfBoundsException("length " + length + " exceeds readable bytes " + this.readableBytes());
+        }
+
+        return length;
+    }
+
+    private int readLength(int minimumSize) {
+        int length = this.readLength();
+        if (length < 0 || length > this.readableBytes() / minimumSize) {
+            throw new IndexOutOfBoundsException("length " + length + " exceeds readable bytes " + this.readableBytes());
+        }
+
+        return length;
+    }
+
+    static String decodeString(ByteBuf buf, int index, int length) {
+        if (length == 0) {
+            return "";
+        }
+
+        if (buf.forEachByte(index, length, FIND_NON_ASCII) == -1) {
+            return buf.toString(index, length, StandardCharsets.US_ASCII);
+        }
+        return buf.toString(index, length, StandardCharsets.UTF_8);
+    }
+
     @Override
     public int capacity() {
         return this.buf.capacity();
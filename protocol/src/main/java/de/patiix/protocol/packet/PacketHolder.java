@@ -0,0 +1,128 @@
+package de.patiix.protocol.packet;
+
+import io.netty.util.Recycler;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketHolder {
+
+    private final Class<? extends Packet> packetClass;
+    private final Supplier<? extends Packet> packetSupplier;
+    private final Recycler<Packet> packetRecycler;
+
+    public PacketHolder(Class<? extends Packet> packetClass) throws NoSuchMethodException {
+        this(packetClass, false);
+    }
+
+    public PacketHolder(Class<? extends Packet> packetClass, boolean recycle) throws NoSuchMethodException {
+        this(packetClass, createSupplier(packetClass), recycle);
+    }
+
+    public PacketHolder(Class<? extends Packet> packetClass, Supplier<? extends Packet> packetSupplier) {
+        this(packetClass, packetSupplier, false);
+    }
+
+    public PacketHolder(Class<? extends Packet> packetClass, Supplier<? extends Packet> packetSupplier, boolean recycle) {
+        this.packetClass = packetClass;
+        this.packetSupplier = packetSupplier;
+        this.packetRecycler = recycle ? new Recycler<>() {
+            @Override
+            protected Packet newObject(Handle<Packet> handle) {
+                Packet packet = packetSupplier.get();
+                packet.setHandle(handle);
+
+                return packet;
+            }
+        } : null;
+    }
+
+    public Packet construct() {
+        if (this.packetRecycler != null) {
+            return this.packetRecycler.get().acquire();
+        }
+        return this.packetSupplier.get();
+    }
+
+    public Class<? extends Packet> getPacketClass() {
+        return this.packetClass;
+    }
+
+    public Supplier<? extends Packet> getPacketSupplier() {
+        return this.packetSupplier;
+    }
+
+    public boolean isRecyclable() {
+        return this.packetRecycler != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<? extends Packet> createSupplier(Class<? extends Packet> packetClass) throws NoSuchMethodException {
+        List<Constructor<?>> constructors = Arrays.stream(packetClass.getConstructors())
+                .filter(constructor -> constructor.getParameterCount() == 0)
+                .toList();
+
+        if (constructors.isEmpty()) {
+            throw new NoSuchMethodException("missing no-args-constructor");
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor;
+
+        try {
+            constructor = lookup.unreflectConstructor(constructors.get(0));
+        } catch (IllegalAccessException exception) {
+            throw new NoSuchMethodException("inaccessible no-args-constructor");
+        }
+
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    constructor,
+                    MethodType.methodType(packetClass));
+
+            return (Supplier<? extends Packet>) callSite.getTarget().invokeExact();
+        } catch (Throwable throwable) {
+            MethodHandle packetConstructor = constructor.asType(MethodType.methodType(Packet.class));
+
+            return () -> {
+                try {
+                    return (Packet) packetConstructor.invokeExact();
+                } catch (Throwable exception) {
+                    throw new IllegalStateException(exception);
+                }
+            };
+        }
+    }
+
+}
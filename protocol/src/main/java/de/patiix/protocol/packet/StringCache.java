@@ -0,0 +1,105 @@
+package de.patiix.protocol.packet;
+
+import io.netty.buffer.ByteBuf;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class StringCache {
+
+    private final Entry[] entries;
+    private final int mask;
+    private final int maxLength;
+
+    public StringCache() {
+        this(1024, 64);
+    }
+
+    public StringCache(int size, int maxLength) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+        this.maxLength = maxLength;
+    }
+
+    public String get(ByteBuf buf, int index, int length) {
+        if (length == 0 || length > this.maxLength) {
+            return PacketBuffer.decodeString(buf, index, length);
+        }
+
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buf.getByte(index + i);
+        }
+
+        int slot = (hash ^ (hash >>> 16)) & this.mask;
+
+        Entry entry = this.entries[slot];
+        if (entry != null && entry.hash == hash && entry.matches(buf, index, length)) {
+            return entry.value;
+        }
+
+        byte[] data = new byte[length];
+        buf.getBytes(index, data);
+
+        String value = PacketBuffer.decodeString(buf, index, length);
+        this.entries[slot] = new Entry(hash, data, value);
+
+        return value;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.entries.length; i++) {
+            this.entries[i] = null;
+        }
+    }
+
+    private static final class Entry {
+
+        private final int hash;
+        private final byte[] data;
+        private final String value;
+
+        private Entry(int hash, byte[] data, String value) {
+            this.hash = hash;
+            this.data = data;
+            this.value = value;
+        }
+
+        private boolean matches(ByteBuf buf, int index, int length) {
+            if (this.data.length != length) {
+                return false;
+            }
+
+            for (int i = 0; i < length; i++) {
+                if (this.data[i] != buf.getByte(index + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
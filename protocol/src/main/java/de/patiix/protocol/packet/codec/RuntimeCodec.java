@@ -0,0 +1,411 @@
+package de.patiix.protocol.packet.codec;
+
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.packet.PacketBufferSerializer;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.LongList;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public final class RuntimeCodec<T> implements PacketBufferSerializer<T> {
+
+    private static final ClassValue<RuntimeCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected RuntimeCodec<?> computeValue(Class<?> type) {
+            return new RuntimeCodec<>(type);
+        }
+    };
+
+    private static final MethodHandle SERIALIZER_READ;
+    private static final MethodHandle SERIALIZER_WRITE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SERIALIZER_READ = lookup.findVirtual(PacketBufferSerializer.class, "read", MethodType.methodType(Object.class, PacketBuffer.class));
+            SERIALIZER_WRITE = lookup.findVirtual(PacketBufferSerializer.class, "write", MethodType.methodType(void.class, PacketBuffer.class, Object.class));
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final Class<T> type;
+    private final boolean record;
+    private final MethodHandle constructor;
+    private final MethodHandle reader;
+    private final MethodHandle writer;
+
+    private RuntimeCodec(Class<T> type) {
+        this.type = type;
+        this.record = type.isRecord();
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle reader;
+            MethodHandle writer = MethodHandles.empty(MethodType.methodType(void.class, PacketBuffer.class, type));
+
+            if (this.record) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] parameterTypes = new Class<?>[components.length];
+                MethodHandle[] readers = new MethodHandle[components.length];
+
+                for (int i = 0; i < components.length; i++) {
+                    RecordComponent component = components[i];
+                    PacketField annotation = type.getDeclaredField(component.getName()).getAnnotation(PacketField.class);
+                    MethodHandle[] handles = getHandles(lookup, component.getType(), component.getGenericType(), annotation != null && annotation.compact());
+
+                    Method accessor = component.getAccessor();
+                    accessor.setAccessible(true);
+
+                    parameterTypes[i] = component.getType();
+                    readers[i] = handles[0];
+                    writer = fold(writer, MethodHandles.filterArguments(handles[1], 1, lookup.unreflect(accessor)));
+                }
+
+                Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+                constructor.setAccessible(true);
+
+                // (buffer, v1 .. vk) -> T, each step reads one more component before calling the next, which keeps the wire order
+                reader = MethodHandles.dropArguments(lookup.unreflectConstructor(constructor), 0, PacketBuffer.class);
+                for (int i = readers.length - 1; i >= 0; i--) {
+                    int[] reorder = new int[i + 2];
+                    for (int j = 0; j <= i; j++) {
+                        reorder[j] = j;
+                    }
+
+                    reader = MethodHandles.collectArguments(reader, i + 1, readers[i]);
+                    reader = MethodHandles.permuteArguments(reader, reader.type().dropParameterTypes(i + 1, i + 2), reorder);
+                }
+
+                this.constructor = null;
+            } else if (type.isAnnotationPresent(PacketCodec.class)) {
+                reader = MethodHandles.empty(MethodType.methodType(void.class, PacketBuffer.class, type));
+
+                for (Field field : getFields(type)) {
+                    MethodHandle[] handles = getHandles(lookup, field.getType(), field.getGenericType(), field.getAnnotation(PacketField.class).compact());
+                    field.setAccessible(true);
+
+                    MethodHandle setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, type, field.getType()));
+                    MethodHandle getter = lookup.unreflectGetter(field).asType(MethodType.methodType(field.getType(), type));
+
+                    setter = MethodHandles.collectArguments(setter, 1, handles[0]);
+                    reader = fold(reader, MethodHandles.permuteArguments(setter, MethodType.methodType(void.class, PacketBuffer.class, type), 1, 0));
+                    writer = fold(writer, MethodHandles.filterArguments(handles[1], 1, getter));
+                }
+
+                Constructor<T> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+
+                this.constructor = lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            } else {
+                throw new IllegalArgumentException(type.getName() + " is neither a record nor annotated with @PacketCodec");
+            }
+
+            this.reader = reader.asType(this.record
+                    ? MethodType.methodType(Object.class, PacketBuffer.class)
+                    : MethodType.methodType(void.class, PacketBuffer.class, Object.class));
+            this.writer = writer.asType(MethodType.methodType(void.class, PacketBuffer.class, Object.class));
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalArgumentException("unable to create codec for " + type.getName(), exception);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> RuntimeCodec<T> of(Class<T> type) {
+        return (RuntimeCodec<T>) CODECS.get(type);
+    }
+
+    public Class<T> getType() {
+        return this.type;
+    }
+
+    @Override
+    public T read(PacketBuffer buffer) {
+        try {
+            if (this.record) {
+                return this.type.cast((Object) this.reader.invokeExact(buffer));
+            }
+
+            T value = this.type.cast((Object) this.constructor.invokeExact());
+            this.reader.invokeExact(buffer, (Object) value);
+            return value;
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    public void read(PacketBuffer buffer, T value) {
+        if (this.record) {
+            throw new UnsupportedOperationException("records are immutable, use read(PacketBuffer) instead");
+        }
+
+        try {
+            this.reader.invokeExact(buffer, (Object) value);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    @Override
+    public void write(PacketBuffer buffer, T value) {
+        try {
+            this.writer.invokeExact(buffer, (Object) value);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static MethodHandle fold(MethodHandle first, MethodHandle second) {
+        return MethodHandles.foldArguments(second, first);
+    }
+
+    private static MethodHandle[] getHandles(MethodHandles.Lookup lookup, Class<?> type, Type genericType, boolean compact) throws ReflectiveOperationException {
+        String name = getMethodName(type, compact);
+        MethodHandle reader;
+        MethodHandle writer;
+
+        if (name != null) {
+            Method read = PacketBuffer.class.getMethod("read" + name);
+            Method write = null;
+            for (Method method : PacketBuffer.class.getMethods()) {
+                if (method.getName().equals("write" + name) && method.getParameterCount() == 1) {
+                    write = method;
+                }
+            }
+
+            reader = lookup.unreflect(read);
+            writer = lookup.unreflect(write);
+        } else {
+            PacketBufferSerializer<Object> serializer = getSerializer(genericType, compact);
+
+            reader = SERIALIZER_READ.bindTo(serializer);
+            writer = SERIALIZER_WRITE.bindTo(serializer);
+        }
+
+        return new MethodHandle[] {
+                reader.asType(MethodType.methodType(type, PacketBuffer.class)),
+                writer.asType(MethodType.methodType(void.class, PacketBuffer.class, type))
+        };
+    }
+
+    private static String getMethodName(Class<?> type, boolean compact) {
+        if (type == boolean.class || type == Boolean.class) {
+            return "Boolean";
+        }
+        if (type == byte.class || type == Byte.class) {
+            return "Byte";
+        }
+        if (type == short.class || type == Short.class) {
+            return "Short";
+        }
+        if (type == char.class || type == Character.class) {
+            return "Char";
+        }
+        if (type == int.class || type == Integer.class) {
+            return compact ? "ZigZagInt" : "Int";
+        }
+        if (type == long.class || type == Long.class) {
+            return compact ? "ZigZagLong" : "Long";
+        }
+        if (type == float.class || type == Float.class) {
+            return "Float";
+        }
+        if (type == double.class || type == Double.class) {
+            return "Double";
+        }
+        if (type == String.class) {
+            return "String";
+        }
+        if (type == UUID.class) {
+            return "UUID";
+        }
+        if (type == byte[].class) {
+            return "ByteArray";
+        }
+        if (type == int[].class) {
+            return "IntArray";
+        }
+        if (type == long[].class) {
+            return "LongArray";
+        }
+        if (type == IntList.class) {
+            return "IntList";
+        }
+        if (type == LongList.class) {
+            return "LongList";
+        }
+        if (type == Int2IntMap.class) {
+            return "Int2IntMap";
+        }
+        if (type == Long2LongMap.class) {
+            return "Long2LongMap";
+        }
+        return null;
+    }
+
+    private static List<Field> getFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+
+        if (type.getSuperclass() != null) {
+            fields.addAll(getFields(type.getSuperclass()));
+        }
+
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(PacketField.class) && !(Modifier.isStatic(field.getModifiers()))) {
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PacketBufferSerializer<Object> getSerializer(Type genericType, boolean compact) {
+        if (genericType instanceof ParameterizedType parameterizedType) {
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+
+            if (parameterizedType.getRawType() == List.class) {
+                PacketBufferSerializer<Object> element = getSerializer(arguments[0], compact);
+
+                return serializer(buffer -> buffer.readList(element), (buffer, value) -> buffer.writeList((List<Object>) value, element));
+            }
+            if (parameterizedType.getRawType() == Map.class) {
+                PacketBufferSerializer<Object> key = getSerializer(arguments[0], compact);
+                PacketBufferSerializer<Object> element = getSerializer(arguments[1], compact);
+
+                return serializer(buffer -> buffer.readMap(key, element), (buffer, value) -> buffer.writeMap((Map<Object, Object>) value, key, element));
+            }
+        }
+
+        if (!(genericType instanceof Class<?> type)) {
+            throw new IllegalArgumentException("unsupported type " + genericType.getTypeName());
+        }
+
+        if (type == boolean.class || type == Boolean.class) {
+            return serializer(PacketBuffer::readBoolean, (buffer, value) -> buffer.writeBoolean((Boolean) value));
+        }
+        if (type == byte.class || type == Byte.class) {
+            return serializer(PacketBuffer::readByte, (buffer, value) -> buffer.writeByte((Byte) value));
+        }
+        if (type == short.class || type == Short.class) {
+            return serializer(PacketBuffer::readShort, (buffer, value) -> buffer.writeShort((Short) value));
+        }
+        if (type == char.class || type == Character.class) {
+            return serializer(PacketBuffer::readChar, (buffer, value) -> buffer.writeChar((Character) value));
+        }
+        if (type == int.class || type == Integer.class) {
+            return compact
+                    ? serializer(PacketBuffer::readZigZagInt, (buffer, value) -> buffer.writeZigZagInt((Integer) value))
+                    : serializer(PacketBuffer::readInt, (buffer, value) -> buffer.writeInt((Integer) value));
+        }
+        if (type == long.class || type == Long.class) {
+            return compact
+                    ? serializer(PacketBuffer::readZigZagLong, (buffer, value) -> buffer.writeZigZagLong((Long) value))
+                    : serializer(PacketBuffer::readLong, (buffer, value) -> buffer.writeLong((Long) value));
+        }
+        if (type == float.class || type == Float.class) {
+            return serializer(PacketBuffer::readFloat, (buffer, value) -> buffer.writeFloat((Float) value));
+        }
+        if (type == double.class || type == Double.class) {
+            return serializer(PacketBuffer::readDouble, (buffer, value) -> buffer.writeDouble((Double) value));
+        }
+        if (type == String.class) {
+            return serializer(PacketBuffer::readString, (buffer, value) -> buffer.writeString((String) value));
+        }
+        if (type == UUID.class) {
+            return serializer(PacketBuffer::readUUID, (buffer, value) -> buffer.writeUUID((UUID) value));
+        }
+        if (type == byte[].class) {
+            return serializer(PacketBuffer::readByteArray, (buffer, value) -> buffer.writeByteArray((byte[]) value));
+        }
+        if (type == int[].class) {
+            return serializer(PacketBuffer::readIntArray, (buffer, value) -> buffer.writeIntArray((int[]) value));
+        }
+        if (type == long[].class) {
+            return serializer(PacketBuffer::readLongArray, (buffer, value) -> buffer.writeLongArray((long[]) value));
+        }
+        if (type == IntList.class) {
+            return serializer(PacketBuffer::readIntList, (buffer, value) -> buffer.writeIntList((IntList) value));
+        }
+        if (type == LongList.class) {
+            return serializer(PacketBuffer::readLongList, (buffer, value) -> buffer.writeLongList((LongList) value));
+        }
+        if (type == Int2IntMap.class) {
+            return serializer(PacketBuffer::readInt2IntMap, (buffer, value) -> buffer.writeInt2IntMap((Int2IntMap) value));
+        }
+        if (type == Long2LongMap.class) {
+            return serializer(PacketBuffer::readLong2LongMap, (buffer, value) -> buffer.writeLong2LongMap((Long2LongMap) value));
+        }
+        if (type.isEnum()) {
+            Object[] values = type.getEnumConstants();
+
+            return serializer(buffer -> values[buffer.readVarInt()], (buffer, value) -> buffer.writeVarInt(((Enum<?>) value).ordinal()));
+        }
+        if (type.isRecord() || type.isAnnotationPresent(PacketCodec.class)) {
+            // resolved lazily so self-referencing types do not recurse while the codec is built
+            return serializer(buffer -> of(type).read(buffer), (buffer, value) -> ((RuntimeCodec<Object>) of(type)).write(buffer, value));
+        }
+
+        throw new IllegalArgumentException("unsupported type " + type.getName());
+    }
+
+    private static PacketBufferSerializer<Object> serializer(Function<PacketBuffer, Object> reader, BiConsumer<PacketBuffer, Object> writer) {
+        return new PacketBufferSerializer<>() {
+            @Override
+            public Object read(PacketBuffer buffer) {
+                return reader.apply(buffer);
+            }
+
+            @Override
+            public void write(PacketBuffer buffer, Object value) {
+                writer.accept(buffer, value);
+            }
+        };
+    }
+
+}
@@ -1,11 +1,8 @@
-package de.patiix.protocol.socket.handler;
+package de.patiix.protocol.packet.serializer;
 
-import de.patiix.protocol.packet.Packet;
 import de.patiix.protocol.packet.PacketBuffer;
-import de.patiix.protocol.socket.Socket;
-import io.netty.buffer.ByteBuf;
-import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import de.patiix.protocol.packet.PacketBufferSerializer;
+import java.io.Serializable;
 
 /*
  * MIT License
@@ -30,27 +27,27 @@ import io.netty.handler.codec.MessageToByteEncoder;
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-public class PacketEncoder extends MessageToByteEncoder<Packet> {
+public class ClassSerializer<T extends Serializable> implements PacketBufferSerializer<T> {
 
-    private final Socket socket;
+    private final ObjectSerializer serializer;
 
-    public PacketEncoder(Socket socket) {
-        this.socket = socket;
+    public ClassSerializer() {
+        this(false);
     }
 
-    @Override
-    public void encode(ChannelHandlerContext context, Packet packet, ByteBuf buf) throws Exception {
-        int id = this.socket.getPacket(packet.getClass());
-        if (id < 0) {
-            return;
-        }
-
-        buf.writeInt(id);
+    public ClassSerializer(boolean javaSerialization) {
+        this.serializer = new ObjectSerializer(javaSerialization);
+    }
 
-        PacketBuffer buffer = new PacketBuffer();
-        packet.write(buffer);
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(PacketBuffer buffer) {
+        return (T) this.serializer.read(buffer);
+    }
 
-        buf.writeBytes(buffer);
+    @Override
+    public void write(PacketBuffer buffer, T value) {
+        this.serializer.write(buffer, value);
     }
 
 }
@@ -0,0 +1,216 @@
+package de.patiix.protocol.packet.serializer;
+
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.packet.PacketBufferSerializer;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.handler.codec.CorruptedFrameException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class ObjectSerializer implements PacketBufferSerializer<Object> {
+
+    private final boolean javaSerialization;
+
+    public ObjectSerializer() {
+        this(false);
+    }
+
+    public ObjectSerializer(boolean javaSerialization) {
+        this.javaSerialization = javaSerialization;
+    }
+
+    @Override
+    public Object read(PacketBuffer buffer) {
+        int tag = buffer.readVarInt();
+
+        switch (tag) {
+            case TypeRegistry.NULL:
+                return null;
+            case TypeRegistry.STRING:
+                return buffer.readString();
+            case TypeRegistry.UUID:
+                return buffer.readUUID();
+            case TypeRegistry.BOOLEAN:
+                return buffer.readBoolean();
+            case TypeRegistry.BYTE:
+                return buffer.readByte();
+            case TypeRegistry.SHORT:
+                return buffer.readShort();
+            case TypeRegistry.CHARACTER:
+                return buffer.readChar();
+            case TypeRegistry.INTEGER:
+                return buffer.readZigZagInt();
+            case TypeRegistry.LONG:
+                return buffer.readZigZagLong();
+            case TypeRegistry.FLOAT:
+                return buffer.readFloat();
+            case TypeRegistry.DOUBLE:
+                return buffer.readDouble();
+            case TypeRegistry.BYTE_ARRAY:
+                return buffer.readByteArray();
+            case TypeRegistry.LIST: {
+                int length = buffer.readVarInt();
+                List<Object> list = new ArrayList<>(Math.min(length, buffer.readableBytes()));
+                for (int i = 0; i < length; i++) {
+                    list.add(this.read(buffer));
+                }
+                return list;
+            }
+            case TypeRegistry.MAP: {
+                int length = buffer.readVarInt();
+                Map<Object, Object> map = new HashMap<>(Math.min(length, buffer.readableBytes()));
+                for (int i = 0; i < length; i++) {
+                    map.put(this.read(buffer), this.read(buffer));
+                }
+                return map;
+            }
+            case TypeRegistry.SERIALIZABLE:
+                return this.readSerializable(buffer);
+            default:
+                PacketBufferSerializer<?> serializer = TypeRegistry.getSerializer(tag);
+                if (serializer == null) {
+                    throw new CorruptedFrameException("unknown type tag " + tag);
+                }
+                return serializer.read(buffer);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(PacketBuffer buffer, Object value) {
+        if (value == null) {
+            buffer.writeVarInt(TypeRegistry.NULL);
+            return;
+        }
+
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            buffer.writeVarInt(TypeRegistry.STRING);
+            buffer.writeString((String) value);
+        } else if (type == UUID.class) {
+            buffer.writeVarInt(TypeRegistry.UUID);
+            buffer.writeUUID((UUID) value);
+        } else if (type == Integer.class) {
+            buffer.writeVarInt(TypeRegistry.INTEGER);
+            buffer.writeZigZagInt((Integer) value);
+        } else if (type == Long.class) {
+            buffer.writeVarInt(TypeRegistry.LONG);
+            buffer.writeZigZagLong((Long) value);
+        } else if (type == Boolean.class) {
+            buffer.writeVarInt(TypeRegistry.BOOLEAN);
+            buffer.writeBoolean((Boolean) value);
+        } else if (type == Byte.class) {
+            buffer.writeVarInt(TypeRegistry.BYTE);
+            buffer.writeByte((Byte) value);
+        } else if (type == Short.class) {
+            buffer.writeVarInt(TypeRegistry.SHORT);
+            buffer.writeShort((Short) value);
+        } else if (type == Character.class) {
+            buffer.writeVarInt(TypeRegistry.CHARACTER);
+            buffer.writeChar((Character) value);
+        } else if (type == Float.class) {
+            buffer.writeVarInt(TypeRegistry.FLOAT);
+            buffer.writeFloat((Float) value);
+        } else if (type == Double.class) {
+            buffer.writeVarInt(TypeRegistry.DOUBLE);
+            buffer.writeDouble((Double) value);
+        } else if (type == byte[].class) {
+            buffer.writeVarInt(TypeRegistry.BYTE_ARRAY);
+            buffer.writeByteArray((byte[]) value);
+        } else {
+            int tag = TypeRegistry.getTag(type);
+
+            if (tag != -1) {
+                buffer.writeVarInt(tag);
+                ((PacketBufferSerializer<Object>) TypeRegistry.getSerializer(tag)).write(buffer, value);
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                buffer.writeVarInt(TypeRegistry.LIST);
+                buffer.writeVarInt(list.size());
+                for (Object element : list) {
+                    this.write(buffer, element);
+                }
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                buffer.writeVarInt(TypeRegistry.MAP);
+                buffer.writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    this.write(buffer, entry.getKey());
+                    this.write(buffer, entry.getValue());
+                }
+            } else if (this.javaSerialization && value instanceof Serializable) {
+                buffer.writeVarInt(TypeRegistry.SERIALIZABLE);
+                this.writeSerializable(buffer, value);
+            } else {
+                throw new IllegalArgumentException("unregistered type " + type.getName());
+            }
+        }
+    }
+
+    private Object readSerializable(PacketBuffer buffer) {
+        if (!(this.javaSerialization)) {
+            throw new CorruptedFrameException("java serialization is disabled");
+        }
+
+        int length = buffer.readInt();
+        if (length < 0 || length > buffer.readableBytes()) {
+            throw new CorruptedFrameException("serialized object exceeds the readable bytes");
+        }
+
+        int endIndex = buffer.readerIndex() + length;
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteBufInputStream(buffer.getBuf(), length))) {
+            return objectInputStream.readObject();
+        } catch (IOException | ClassNotFoundException exception) {
+            System.err.println(exception.getMessage());
+        } finally {
+            buffer.readerIndex(endIndex);
+        }
+        return null;
+    }
+
+    private void writeSerializable(PacketBuffer buffer, Object value) {
+        // the length is patched in after the stream is written, so the object is serialized straight into the buffer
+        int lengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
+
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(new ByteBufOutputStream(buffer.getBuf()))) {
+            objectOutputStream.writeObject(value);
+        } catch (IOException exception) {
+            System.err.println(exception.getMessage());
+        }
+
+        buffer.setInt(lengthIndex, buffer.writerIndex() - lengthIndex - 4);
+    }
+
+}
@@ -0,0 +1,112 @@
+package de.patiix.protocol.packet.serializer;
+
+import de.patiix.protocol.packet.PacketBufferSerializer;
+import de.patiix.protocol.packet.codec.RuntimeCodec;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public final class TypeRegistry {
+
+    public static final int NULL = 0;
+    public static final int STRING = 1;
+    public static final int UUID = 2;
+    public static final int BOOLEAN = 3;
+    public static final int BYTE = 4;
+    public static final int SHORT = 5;
+    public static final int CHARACTER = 6;
+    public static final int INTEGER = 7;
+    public static final int LONG = 8;
+    public static final int FLOAT = 9;
+    public static final int DOUBLE = 10;
+    public static final int BYTE_ARRAY = 11;
+    public static final int LIST = 12;
+    public static final int MAP = 13;
+    public static final int SERIALIZABLE = 14;
+
+    public static final int FIRST_CUSTOM_TAG = 32;
+
+    private static volatile Int2ObjectOpenHashMap<PacketBufferSerializer<?>> serializers = new Int2ObjectOpenHashMap<>();
+    private static volatile Reference2IntOpenHashMap<Class<?>> tags = newTags();
+
+    private TypeRegistry() {
+    }
+
+    public static <T extends Record> void register(int tag, Class<T> type) {
+        register(tag, type, RuntimeCodec.of(type));
+    }
+
+    public static synchronized <T> void register(int tag, Class<T> type, PacketBufferSerializer<T> serializer) {
+        if (tag < FIRST_CUSTOM_TAG) {
+            throw new IllegalArgumentException("tags below " + FIRST_CUSTOM_TAG + " are reserved");
+        }
+        if (serializers.containsKey(tag) || tags.containsKey(type)) {
+            throw new IllegalArgumentException("tag " + tag + " or type " + type.getName() + " is already registered");
+        }
+
+        Int2ObjectOpenHashMap<PacketBufferSerializer<?>> serializers = new Int2ObjectOpenHashMap<>(TypeRegistry.serializers);
+        serializers.put(tag, serializer);
+
+        Reference2IntOpenHashMap<Class<?>> tags = new Reference2IntOpenHashMap<>(TypeRegistry.tags);
+        tags.defaultReturnValue(-1);
+        tags.put(type, tag);
+
+        TypeRegistry.serializers = serializers;
+        TypeRegistry.tags = tags;
+    }
+
+    public static synchronized boolean unregister(int tag) {
+        PacketBufferSerializer<?> serializer = serializers.get(tag);
+        if (serializer == null) {
+            return false;
+        }
+
+        Int2ObjectOpenHashMap<PacketBufferSerializer<?>> serializers = new Int2ObjectOpenHashMap<>(TypeRegistry.serializers);
+        serializers.remove(tag);
+
+        Reference2IntOpenHashMap<Class<?>> tags = new Reference2IntOpenHashMap<>(TypeRegistry.tags);
+        tags.defaultReturnValue(-1);
+        tags.values().removeIf(value -> value == tag);
+
+        TypeRegistry.serializers = serializers;
+        TypeRegistry.tags = tags;
+        return true;
+    }
+
+    public static int getTag(Class<?> type) {
+        return tags.getInt(type);
+    }
+
+    public static PacketBufferSerializer<?> getSerializer(int tag) {
+        return serializers.get(tag);
+    }
+
+    private static Reference2IntOpenHashMap<Class<?>> newTags() {
+        Reference2IntOpenHashMap<Class<?>> tags = new Reference2IntOpenHashMap<>();
+        tags.defaultReturnValue(-1);
+        return tags;
+    }
+
+}
@@ -0,0 +1,131 @@
+package de.patiix.protocol.socket;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import it.unimi.dsi.fastutil.HashCommon;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class ChannelPool {
+
+    public static final AttributeKey<ChannelPool> ATTRIBUTE = AttributeKey.valueOf("protocol-channel-pool");
+
+    private static final Channel[] EMPTY = new Channel[0];
+
+    private final PoolStrategy strategy;
+    private final long id;
+    private final AtomicInteger next;
+
+    private volatile Channel[] channels;
+
+    public ChannelPool(PoolStrategy strategy) {
+        this(strategy, 0);
+    }
+
+    public ChannelPool(PoolStrategy strategy, long id) {
+        this.strategy = strategy;
+        this.id = id;
+        this.next = new AtomicInteger();
+        this.channels = EMPTY;
+    }
+
+    public synchronized void add(Channel channel) {
+        Channel[] channels = Arrays.copyOf(this.channels, this.channels.length + 1);
+        channels[channels.length - 1] = channel;
+
+        this.channels = channels;
+    }
+
+    public synchronized boolean remove(Channel channel) {
+        Channel[] channels = this.channels;
+        for (int i = 0; i < channels.length; i++) {
+            if (channels[i] == channel) {
+                Channel[] copy = new Channel[channels.length - 1];
+                System.arraycopy(channels, 0, copy, 0, i);
+                System.arraycopy(channels, i + 1, copy, i, copy.length - i);
+
+                this.channels = copy;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Channel select() {
+        return this.select(null);
+    }
+
+    public Channel select(Object routingKey) {
+        Channel[] channels = this.channels;
+        if (channels.length <= 1) {
+            return channels.length == 0 ? null : channels[0];
+        }
+
+        switch (this.strategy) {
+            case LEAST_PENDING_BYTES:
+                return selectLeastPending(channels);
+            case HASH:
+                // without a routing key the hash strategy falls through to round robin
+                if (routingKey != null) {
+                    return channels[Math.floorMod(HashCommon.mix(routingKey.hashCode()), channels.length)];
+                }
+            default:
+                return channels[Math.floorMod(this.next.getAndIncrement(), channels.length)];
+        }
+    }
+
+    private static Channel selectLeastPending(Channel[] channels) {
+        Channel selected = channels[0];
+        long writable = selected.bytesBeforeUnwritable();
+
+        // bytesBeforeUnwritable shrinks as the outbound buffer fills, so the largest value has the fewest pending bytes
+        for (int i = 1; i < channels.length; i++) {
+            long bytes = channels[i].bytesBeforeUnwritable();
+            if (bytes > writable) {
+                selected = channels[i];
+                writable = bytes;
+            }
+        }
+        return selected;
+    }
+
+    public Channel[] getChannels() {
+        return this.channels;
+    }
+
+    public int size() {
+        return this.channels.length;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public PoolStrategy getStrategy() {
+        return this.strategy;
+    }
+
+}
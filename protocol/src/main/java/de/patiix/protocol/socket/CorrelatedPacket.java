@@ -1,8 +1,6 @@
 package de.patiix.protocol.socket;
 
 import de.patiix.protocol.packet.Packet;
-import de.patiix.protocol.packet.PacketBuffer;
-import de.patiix.protocol.packet.serializer.ObjectSerializer;
 
 /*
  * MIT License
@@ -27,32 +25,28 @@ import de.patiix.protocol.packet.serializer.ObjectSerializer;
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-public class SocketInitPacket extends Packet {
+public final class CorrelatedPacket {
 
-    private Object key;
+    private final Packet packet;
+    private final int correlationId;
+    private final boolean response;
 
-    public SocketInitPacket() {
+    public CorrelatedPacket(Packet packet, int correlationId, boolean response) {
+        this.packet = packet;
+        this.correlationId = correlationId;
+        this.response = response;
     }
 
-    public SocketInitPacket(Object key) {
-        this.key = key;
+    public Packet getPacket() {
+        return this.packet;
     }
 
-    @Override
-    public void read(PacketBuffer buffer) {
-        this.key = buffer.read(new ObjectSerializer());
+    public int getCorrelationId() {
+        return this.correlationId;
     }
 
-    @Override
-    public void write(PacketBuffer buffer) {
-        buffer.write(this.key, new ObjectSerializer());
-    }
-
-    public Object getKey() {
-        return this.key;
-    }
-
-    public void test() {
+    public boolean isResponse() {
+        return this.response;
     }
 
 }
@@ -0,0 +1,92 @@
+package de.patiix.protocol.socket;
+
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.packet.PacketListener;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+class ExecutorPacketListener<T extends Packet> implements PacketListener<T> {
+
+    private static final AttributeKey<Reference2ObjectOpenHashMap<Executor, SerialExecutor>> LANES = AttributeKey.valueOf("protocol-listener-lanes");
+
+    private final PacketListener<T> packetListener;
+    private final Executor executor;
+
+    ExecutorPacketListener(PacketListener<T> packetListener, Executor executor) {
+        this.packetListener = packetListener;
+        this.executor = executor;
+    }
+
+    @Override
+    public void handle(T packet, Channel channel) {
+        packet.retain();
+
+        try {
+            this.getLane(channel).execute(new SerialExecutor.Task() {
+                @Override
+                public void run() {
+                    try {
+                        packetListener.handle(packet, channel);
+                    } finally {
+                        packet.release();
+                    }
+                }
+
+                @Override
+                public void discard() {
+                    packet.release();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            // the lane discarded the task together with the rest of its queue, which released the packet
+            System.err.println(exception.getMessage());
+        }
+    }
+
+    private SerialExecutor getLane(Channel channel) {
+        Reference2ObjectOpenHashMap<Executor, SerialExecutor> lanes = channel.attr(LANES).get();
+        if (lanes == null) {
+            Reference2ObjectOpenHashMap<Executor, SerialExecutor> previous = channel.attr(LANES).setIfAbsent(lanes = new Reference2ObjectOpenHashMap<>(2));
+            if (previous != null) {
+                lanes = previous;
+            }
+        }
+
+        // dispatch usually runs on one thread per channel, its event loop or its shard, but it is public and may be called from anywhere
+        synchronized (lanes) {
+            SerialExecutor lane = lanes.get(this.executor);
+            if (lane == null) {
+                lane = new SerialExecutor(this.executor);
+                lanes.put(this.executor, lane);
+            }
+            return lane;
+        }
+    }
+
+}
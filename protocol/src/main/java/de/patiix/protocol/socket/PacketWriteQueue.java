@@ -0,0 +1,114 @@
+package de.patiix.protocol.socket;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.MessageSizeEstimator;
+import io.netty.util.AttributeKey;
+import io.netty.util.internal.PlatformDependent;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketWriteQueue implements Runnable {
+
+    public static final AttributeKey<PacketWriteQueue> ATTRIBUTE = AttributeKey.valueOf("protocol-write-queue");
+
+    private static final int MAX_DRAIN = 1024;
+
+    private final Socket socket;
+    private final Channel channel;
+    private final Queue<Object> messages;
+    private final AtomicBoolean scheduled;
+    private final AtomicLong pendingBytes;
+    private final MessageSizeEstimator.Handle estimator;
+
+    public PacketWriteQueue(Socket socket, Channel channel) {
+        this.socket = socket;
+        this.channel = channel;
+        this.messages = PlatformDependent.newMpscQueue();
+        this.scheduled = new AtomicBoolean();
+        this.pendingBytes = new AtomicLong();
+        this.estimator = channel.config().getMessageSizeEstimator().newHandle();
+    }
+
+    public void offer(Object message, ChannelPromise promise) {
+        // queued messages are not part of the channel's outbound buffer yet, the socket adds them up against the high water mark itself
+        this.pendingBytes.addAndGet(this.estimator.size(message));
+        this.messages.offer(promise.isVoid() ? message : new PendingWrite(message, promise));
+
+        if (!(this.scheduled.get()) && this.scheduled.compareAndSet(false, true)) {
+            this.channel.eventLoop().execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        this.scheduled.set(false);
+
+        int drained = 0;
+        Object message;
+        while (drained < MAX_DRAIN && (message = this.messages.poll()) != null) {
+            if (message instanceof PendingWrite pendingWrite) {
+                this.pendingBytes.addAndGet(-this.estimator.size(pendingWrite.message));
+                this.channel.write(pendingWrite.message, pendingWrite.promise);
+            } else {
+                this.pendingBytes.addAndGet(-this.estimator.size(message));
+                this.channel.write(message, this.channel.voidPromise());
+            }
+            drained++;
+        }
+
+        if (drained > 0) {
+            this.channel.flush();
+            this.socket.signalWritable(this.channel);
+        }
+
+        if (!(this.messages.isEmpty()) && this.scheduled.compareAndSet(false, true)) {
+            this.channel.eventLoop().execute(this);
+        }
+    }
+
+    public int size() {
+        return this.messages.size();
+    }
+
+    public long getPendingBytes() {
+        return this.pendingBytes.get();
+    }
+
+    private static final class PendingWrite {
+
+        private final Object message;
+        private final ChannelPromise promise;
+
+        private PendingWrite(Object message, ChannelPromise promise) {
+            this.message = message;
+            this.promise = promise;
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+package de.patiix.protocol.socket;
+
+import de.patiix.protocol.packet.Packet;
+import io.netty.channel.Channel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PendingRequests {
+
+    private static final Timer TIMER = new HashedWheelTimer(new DefaultThreadFactory("protocol-request-timer", true), 10, TimeUnit.MILLISECONDS);
+
+    private final Int2ObjectOpenHashMap<PendingRequest<?>> requests;
+    private final AtomicInteger correlationIds;
+
+    public PendingRequests() {
+        this.requests = new Int2ObjectOpenHashMap<>();
+        this.correlationIds = new AtomicInteger();
+    }
+
+    public int nextCorrelationId() {
+        int correlationId;
+        do {
+            correlationId = this.correlationIds.incrementAndGet();
+        } while (correlationId == 0);
+        return correlationId;
+    }
+
+    public <R extends Packet> CompletableFuture<R> register(int correlationId, Channel channel, Class<R> responseClass, Duration timeout) {
+        PendingRequest<R> request = new PendingRequest<>(channel, responseClass);
+        synchronized (this.requests) {
+            this.requests.put(correlationId, request);
+        }
+
+        int id = correlationId;
+        request.timeout = TIMER.newTimeout(handle -> {
+            PendingRequest<?> expired = this.remove(id);
+            if (expired != null) {
+                expired.future.completeExceptionally(new TimeoutException("no response within " + timeout));
+            }
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        return request.future;
+    }
+
+    public boolean complete(Packet response, Channel channel) {
+        PendingRequest<?> request;
+        synchronized (this.requests) {
+            request = this.requests.get(response.getCorrelationId());
+
+            // correlation ids are sequential, a response is only accepted from the channel its request went out on
+            if (request == null || request.channel != channel) {
+                return false;
+            }
+            this.requests.remove(response.getCorrelationId());
+        }
+
+        request.cancel();
+        request.complete(response);
+        return true;
+    }
+
+    public void fail(int correlationId, Throwable throwable) {
+        PendingRequest<?> request = this.remove(correlationId);
+        if (request != null) {
+            request.cancel();
+            request.future.completeExceptionally(throwable);
+        }
+    }
+
+    public void fail(Channel channel) {
+        List<PendingRequest<?>> failed = new ArrayList<>();
+
+        synchronized (this.requests) {
+            for (ObjectIterator<Int2ObjectMap.Entry<PendingRequest<?>>> iterator = this.requests.int2ObjectEntrySet().fastIterator(); iterator.hasNext(); ) {
+                Int2ObjectMap.Entry<PendingRequest<?>> entry = iterator.next();
+                if (entry.getValue().channel == channel) {
+                    failed.add(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+
+        for (PendingRequest<?> request : failed) {
+            request.cancel();
+            request.future.completeExceptionally(new ClosedChannelException());
+        }
+    }
+
+    public int size() {
+        synchronized (this.requests) {
+            return this.requests.size();
+        }
+    }
+
+    private PendingRequest<?> remove(int correlationId) {
+        synchronized (this.requests) {
+            return this.requests.remove(correlationId);
+        }
+    }
+
+    private static final class PendingRequest<R extends Packet> {
+
+        private final Channel channel;
+        private final Class<R> responseClass;
+        private final CompletableFuture<R> future;
+        private volatile Timeout timeout;
+
+        private PendingRequest(Channel channel, Class<R> responseClass) {
+            this.channel = channel;
+            this.responseClass = responseClass;
+            this.future = new CompletableFuture<>();
+        }
+
+        private void cancel() {
+            // completion may race the timeout being scheduled, a missing timeout then finds nothing left to expire
+            Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        private void complete(Packet response) {
+            if (!(this.responseClass.isInstance(response))) {
+                this.future.completeExceptionally(new ClassCastException("expected " + this.responseClass.getName() + " but received " + response.getClass().getName()));
+                return;
+            }
+
+            // the handler releases the packet after dispatch, the future keeps its own reference
+            response.retain();
+            this.future.complete(this.responseClass.cast(response));
+        }
+
+    }
+
+}
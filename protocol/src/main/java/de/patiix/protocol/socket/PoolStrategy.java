@@ -1,4 +1,4 @@
-package de.patiix.protocol.packet;
+package de.patiix.protocol.socket;
 
 /*
  * MIT License
@@ -23,9 +23,10 @@ package de.patiix.protocol.packet;
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-public abstract class Packet {
+public enum PoolStrategy {
 
-    public abstract void read(PacketBuffer buffer);
-    public abstract void write(PacketBuffer buffer);
+    ROUND_ROBIN,
+    LEAST_PENDING_BYTES,
+    HASH
 
 }
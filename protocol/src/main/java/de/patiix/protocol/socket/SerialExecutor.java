@@ -0,0 +1,93 @@
+package de.patiix.protocol.socket;
+
+import io.netty.util.internal.PlatformDependent;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+class SerialExecutor implements Executor, Runnable {
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks;
+    private final AtomicBoolean scheduled;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+        this.tasks = PlatformDependent.newMpscQueue();
+        this.scheduled = new AtomicBoolean();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        this.tasks.offer(task);
+        this.schedule();
+    }
+
+    @Override
+    public void run() {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                System.err.println(throwable.getMessage());
+            }
+        }
+
+        // cleared only after draining, so a second drain never runs next to this one and the order holds
+        this.scheduled.set(false);
+
+        if (!(this.tasks.isEmpty())) {
+            this.schedule();
+        }
+    }
+
+    private void schedule() {
+        if (!(this.scheduled.get()) && this.scheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException exception) {
+                // queued tasks may hold retained packets, so each one is discarded instead of dropped with the queue
+                Runnable task;
+                while ((task = this.tasks.poll()) != null) {
+                    if (task instanceof Task discardable) {
+                        discardable.discard();
+                    }
+                }
+                this.scheduled.set(false);
+                throw exception;
+            }
+        }
+    }
+
+    interface Task extends Runnable {
+
+        void discard();
+
+    }
+
+}
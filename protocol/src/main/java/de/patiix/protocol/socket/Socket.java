@@ -0,0 +1,407 @@
+package de.patiix.protocol.socket;
+
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.packet.PacketHolder;
+import de.patiix.protocol.packet.PacketListener;
+import de.patiix.protocol.socket.handler.PacketStreamEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelException;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public abstract class Socket {
+
+    public static final AttributeKey<Boolean> COMPACT_ENCODING = AttributeKey.valueOf("protocol-compact-encoding");
+    public static final AttributeKey<Boolean> COMPACT_DECODING = AttributeKey.valueOf("protocol-compact-decoding");
+    public static final AttributeKey<Boolean> COMPACT_REQUESTED = AttributeKey.valueOf("protocol-compact-requested");
+
+    private static final AttributeKey<Object> WRITABILITY_LOCK = AttributeKey.valueOf("protocol-writability-lock");
+
+    public static final int REQUEST_ID = Integer.MAX_VALUE - 1;
+    public static final int RESPONSE_ID = Integer.MAX_VALUE - 2;
+
+    private static final PacketListener<?>[] EMPTY_LISTENERS = new PacketListener<?>[0];
+
+    private final SocketConfig config;
+
+    private volatile Int2ObjectOpenHashMap<PacketHolder> packets;
+    private volatile Reference2IntOpenHashMap<Class<? extends Packet>> packetIds;
+    private volatile Reference2ObjectOpenHashMap<Class<? extends Packet>, PacketListener<?>[]> listeners;
+    private final PendingRequests requests;
+    private volatile WritabilityListener[] writabilityListeners;
+
+    public Socket(SocketConfig config) {
+        this.config = config;
+        this.packets = new Int2ObjectOpenHashMap<>();
+        this.packetIds = new Reference2IntOpenHashMap<>();
+        this.packetIds.defaultReturnValue(-1);
+        this.requests = new PendingRequests();
+        this.writabilityListeners = new WritabilityListener[0];
+        this.listeners = new Reference2ObjectOpenHashMap<>();
+        this.listeners.defaultReturnValue(EMPTY_LISTENERS);
+    }
+
+    public abstract void connect();
+
+    public void registerPacket(int id, Packet packet) {
+        this.registerPacket(id, packet.getClass());
+    }
+
+    public void registerPacket(int id, Class<? extends Packet> packet) {
+        this.registerPacket(id, packet, false);
+    }
+
+    public void registerPacket(int id, Class<? extends Packet> packet, boolean recycle) {
+        try {
+            this.registerPacket(id, new PacketHolder(packet, recycle));
+        } catch (NoSuchMethodException exception) {
+            System.err.println(exception.getMessage());
+        }
+    }
+
+    public void registerPacket(int id, Supplier<? extends Packet> packetSupplier) {
+        this.registerPacket(id, new PacketHolder(packetSupplier.get().getClass(), packetSupplier));
+    }
+
+    public <T extends Packet> void registerPacket(int id, Class<T> packet, Supplier<T> packetSupplier) {
+        this.registerPacket(id, packet, packetSupplier, false);
+    }
+
+    public <T extends Packet> void registerPacket(int id, Class<T> packet, Supplier<T> packetSupplier, boolean recycle) {
+        this.registerPacket(id, new PacketHolder(packet, packetSupplier, recycle));
+    }
+
+    public synchronized void registerPacket(int id, PacketHolder packetHolder) {
+        if (id == REQUEST_ID || id == RESPONSE_ID) {
+            throw new IllegalArgumentException("packet id " + id + " is reserved for requests and responses");
+        }
+
+        Int2ObjectOpenHashMap<PacketHolder> packets = new Int2ObjectOpenHashMap<>(this.packets);
+        PacketHolder previous = packets.put(id, packetHolder);
+
+        Reference2IntOpenHashMap<Class<? extends Packet>> packetIds = new Reference2IntOpenHashMap<>(this.packetIds);
+        packetIds.defaultReturnValue(-1);
+        if (previous != null && packetIds.getInt(previous.getPacketClass()) == id) {
+            packetIds.removeInt(previous.getPacketClass());
+        }
+        packetIds.put(packetHolder.getPacketClass(), id);
+
+        this.packets = packets;
+        this.packetIds = packetIds;
+    }
+
+    public <T extends Packet> void registerListener(Class<T> packet, PacketListener<T> packetListener) {
+        this.registerListener(packet, packetListener, null);
+    }
+
+    public synchronized <T extends Packet> void registerListener(Class<T> packet, PacketListener<T> packetListener, Executor executor) {
+        if (executor != null) {
+            packetListener = new ExecutorPacketListener<>(packetListener, executor);
+        }
+
+        PacketListener<?>[] packetListeners = this.listeners.get(packet);
+        packetListeners = Arrays.copyOf(packetListeners, packetListeners.length + 1);
+        packetListeners[packetListeners.length - 1] = packetListener;
+
+        Reference2ObjectOpenHashMap<Class<? extends Packet>, PacketListener<?>[]> listeners = new Reference2ObjectOpenHashMap<>(this.listeners);
+        listeners.defaultReturnValue(EMPTY_LISTENERS);
+        listeners.put(packet, packetListeners);
+
+        this.listeners = listeners;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void dispatch(Packet packet, Channel channel) {
+        if (packet.isResponse()) {
+            // late responses whose request already timed out, and responses from any other channel, are dropped
+            this.requests.complete(packet, channel);
+            return;
+        }
+
+        for (PacketListener listener : this.listeners.get(packet.getClass())) {
+            listener.handle(packet, channel);
+        }
+    }
+
+    public void initChannel(Channel channel) {
+        if (this.config.getWriteBatching()) {
+            channel.attr(PacketWriteQueue.ATTRIBUTE).set(new PacketWriteQueue(this, channel));
+        }
+    }
+
+    public boolean isCompact(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(COMPACT_ENCODING).get());
+    }
+
+    public boolean isCompactDecoding(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(COMPACT_DECODING).get());
+    }
+
+    public void negotiate(Channel channel, SocketInitPacket packet) {
+        if (!(packet.isAcknowledge())) {
+            if (packet.isCompact()) {
+                boolean compact = this.config.getCompactEncoding();
+                this.acknowledge(channel, compact);
+
+                // frames encoded after the acknowledgement use the compact format
+                if (compact) {
+                    channel.attr(COMPACT_ENCODING).set(true);
+                }
+            }
+            return;
+        }
+
+        if (!(packet.isCompact()) || !(this.config.getCompactEncoding())) {
+            return;
+        }
+
+        // the server switches its decoding on the confirmation of its own accepting acknowledgement
+        if (this.isCompact(channel)) {
+            channel.attr(COMPACT_DECODING).set(true);
+            return;
+        }
+
+        // the client only follows an acknowledgement of a request it sent itself, an unsolicited one is ignored
+        if (!(Boolean.TRUE.equals(channel.attr(COMPACT_REQUESTED).getAndSet(null)))) {
+            return;
+        }
+
+        channel.attr(COMPACT_DECODING).set(true);
+
+        // the acknowledgement from the server is confirmed as the last frame in the old format
+        this.acknowledge(channel, true);
+        channel.attr(COMPACT_ENCODING).set(true);
+    }
+
+    private void acknowledge(Channel channel, boolean compact) {
+        // fragments still queued on a stream were encoded in the old format, they have to reach the peer before it switches
+        ChannelHandlerContext context = channel.pipeline().context(PacketStreamEncoder.class);
+        if (context != null) {
+            ((PacketStreamEncoder) context.handler()).flushStreams(context);
+        }
+
+        channel.writeAndFlush(new SocketInitPacket(null, compact, true));
+    }
+
+    public void write(Channel channel, Packet packet) {
+        this.send(channel, packet);
+    }
+
+    public void write(Channel channel, ByteBuf buf) {
+        this.write(channel, buf, 0);
+    }
+
+    public void write(Channel channel, ByteBuf buf, int priority) {
+        this.send(channel, buf, priority);
+    }
+
+    public ChannelFuture send(Channel channel, Packet packet) {
+        return this.writeMessage(channel, packet, packet.getPriority(), true, channel.newPromise());
+    }
+
+    public ChannelFuture send(Channel channel, ByteBuf buf, int priority) {
+        return this.writeMessage(channel, buf, priority, true, channel.newPromise());
+    }
+
+    public ChannelFuture trySend(Channel channel, ByteBuf buf, int priority) {
+        return this.writeMessage(channel, buf, priority, false, channel.newPromise());
+    }
+
+    private ChannelFuture writeMessage(Channel channel, Object message, int priority, boolean block, ChannelPromise promise) {
+        if (!(this.isWritable(channel)) && !(this.isWritable(channel, priority, block))) {
+            ReferenceCountUtil.release(message);
+
+            return promise.setFailure(new ChannelException("channel is not writable, " + this.config.getWritePolicy() + " rejected the message"));
+        }
+
+        PacketWriteQueue packetWriteQueue = channel.attr(PacketWriteQueue.ATTRIBUTE).get();
+        if (packetWriteQueue != null) {
+            packetWriteQueue.offer(message, promise);
+        } else {
+            channel.writeAndFlush(message, promise);
+        }
+        return promise;
+    }
+
+    public boolean isWritable(Channel channel) {
+        if (!(channel.isWritable())) {
+            return false;
+        }
+
+        // messages waiting for the batched write or for their turn on a stream count against the same high water mark as the outbound buffer
+        long queued = 0;
+        PacketWriteQueue packetWriteQueue = channel.attr(PacketWriteQueue.ATTRIBUTE).get();
+        if (packetWriteQueue != null) {
+            queued += packetWriteQueue.getPendingBytes();
+        }
+        if (this.config.getStreamFragmentSize() > 0) {
+            PacketStreamEncoder streamEncoder = channel.pipeline().get(PacketStreamEncoder.class);
+            if (streamEncoder != null) {
+                queued += streamEncoder.getPendingBytes();
+            }
+        }
+        return queued == 0 || channel.bytesBeforeUnwritable() > queued;
+    }
+
+    private boolean isWritable(Channel channel, int priority, boolean block) {
+        switch (this.config.getWritePolicy()) {
+            case FAIL:
+                return false;
+            case DROP:
+                return priority >= this.config.getDropPriority();
+            case BLOCK:
+                // the event loop drains the outbound buffer itself, waiting on it would never return
+                return block && (channel.eventLoop().inEventLoop() || this.awaitWritable(channel));
+            default:
+                return true;
+        }
+    }
+
+    private boolean awaitWritable(Channel channel) {
+        Object lock = this.getWritabilityLock(channel);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.config.getWriteBlockTimeout());
+
+        synchronized (lock) {
+            long remaining;
+            while (!(this.isWritable(channel)) && channel.isActive() && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return this.isWritable(channel);
+    }
+
+    public synchronized void registerWritabilityListener(WritabilityListener writabilityListener) {
+        WritabilityListener[] writabilityListeners = Arrays.copyOf(this.writabilityListeners, this.writabilityListeners.length + 1);
+        writabilityListeners[writabilityListeners.length - 1] = writabilityListener;
+
+        this.writabilityListeners = writabilityListeners;
+    }
+
+    public void writabilityChanged(Channel channel) {
+        this.signalWritable(channel);
+
+        boolean writable = channel.isWritable();
+        for (WritabilityListener writabilityListener : this.writabilityListeners) {
+            writabilityListener.writabilityChanged(channel, writable);
+        }
+    }
+
+    public void signalWritable(Channel channel) {
+        Object lock = this.getWritabilityLock(channel);
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    private Object getWritabilityLock(Channel channel) {
+        Object lock = channel.attr(WRITABILITY_LOCK).get();
+        if (lock == null) {
+            Object previous = channel.attr(WRITABILITY_LOCK).setIfAbsent(lock = new Object());
+            if (previous != null) {
+                lock = previous;
+            }
+        }
+        return lock;
+    }
+
+    public <R extends Packet> CompletableFuture<R> request(Channel channel, Packet packet, Class<R> response, Duration timeout) {
+        if (channel == null || !(channel.isActive())) {
+            return CompletableFuture.failedFuture(new ClosedChannelException());
+        }
+
+        int correlationId = this.requests.nextCorrelationId();
+        CompletableFuture<R> future = this.requests.register(correlationId, channel, response, timeout);
+
+        // the correlation travels next to the packet, the caller's packet stays untouched and can be sent again
+        CorrelatedPacket correlatedPacket = new CorrelatedPacket(packet, correlationId, false);
+
+        // a write rejected by the write policy or failing in the encoder fails the request instead of running into its timeout
+        this.writeMessage(channel, correlatedPacket, packet.getPriority(), true, channel.newPromise()).addListener(written -> {
+            if (!(written.isSuccess())) {
+                this.requests.fail(correlationId, written.cause());
+            }
+        });
+
+        return future;
+    }
+
+    public void reply(Channel channel, Packet request, Packet response) {
+        this.writeMessage(channel, new CorrelatedPacket(response, request.getCorrelationId(), true), response.getPriority(), true, channel.newPromise());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Packet> T construct(int id) {
+        PacketHolder packetHolder = this.packets.get(id);
+        if (packetHolder == null) {
+            return null;
+        }
+
+        return (T) packetHolder.construct();
+    }
+
+    public int getPacket(Class<? extends Packet> packet) {
+        return this.packetIds.getInt(packet);
+    }
+
+    public PendingRequests getRequests() {
+        return this.requests;
+    }
+
+    public SocketConfig getConfig() {
+        return this.config;
+    }
+
+    public Int2ObjectOpenHashMap<PacketHolder> getPackets() {
+        return this.packets;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Packet> List<PacketListener<T>> getListeners(Class<T> packet) {
+        return (List<PacketListener<T>>) (List<?>) Collections.unmodifiableList(Arrays.asList(this.listeners.get(packet)));
+    }
+
+}
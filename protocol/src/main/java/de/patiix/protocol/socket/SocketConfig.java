@@ -0,0 +1,156 @@
+package de.patiix.protocol.socket;
+
+import de.patiix.protocol.ProtocolRuntime;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.RecvByteBufAllocator;
+import java.util.zip.Deflater;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public abstract class SocketConfig {
+
+    public abstract String getHostname();
+    public abstract Integer getPort();
+
+    public abstract Class<?> getKey();
+
+    public ProtocolRuntime getRuntime() {
+        return ProtocolRuntime.getShared();
+    }
+
+    public Integer getMaxFrameSize() {
+        return 2097151;
+    }
+
+    public Integer getCompressionThreshold() {
+        return -1;
+    }
+
+    public Integer getCompressionLevel() {
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
+    public Integer getStreamFragmentSize() {
+        return 0;
+    }
+
+    public Integer getMaxStreamBufferSize() {
+        return (int) Math.min(Integer.MAX_VALUE, this.getMaxFrameSize() * 4L);
+    }
+
+    public Boolean getCompactEncoding() {
+        return false;
+    }
+
+    public Boolean getWriteBatching() {
+        return false;
+    }
+
+    public Integer getShardCount() {
+        return 0;
+    }
+
+    public Integer getShardCapacity() {
+        return 65536;
+    }
+
+    public ShardPolicy getShardPolicy() {
+        return ShardPolicy.DROP;
+    }
+
+    public Integer getPoolSize() {
+        return 1;
+    }
+
+    public PoolStrategy getPoolStrategy() {
+        return PoolStrategy.ROUND_ROBIN;
+    }
+
+    public Integer getWriteBufferLowWaterMark() {
+        return 32 * 1024;
+    }
+
+    public Integer getWriteBufferHighWaterMark() {
+        return 64 * 1024;
+    }
+
+    public WritePolicy getWritePolicy() {
+        return WritePolicy.WRITE;
+    }
+
+    public Integer getWriteBlockTimeout() {
+        return 5000;
+    }
+
+    public Integer getDropPriority() {
+        return 1;
+    }
+
+    public Boolean getTcpNoDelay() {
+        return true;
+    }
+
+    public Boolean getKeepAlive() {
+        return true;
+    }
+
+    public Integer getSendBufferSize() {
+        return 0;
+    }
+
+    public Integer getReceiveBufferSize() {
+        return 0;
+    }
+
+    public Integer getBacklog() {
+        return 1024;
+    }
+
+    public ByteBufAllocator getAllocator() {
+        return PooledByteBufAllocator.DEFAULT;
+    }
+
+    public RecvByteBufAllocator getRecvByteBufAllocator() {
+        return new AdaptiveRecvByteBufAllocator();
+    }
+
+    public Boolean getTcpQuickAck() {
+        return true;
+    }
+
+    public Integer getTcpFastOpen() {
+        return 0;
+    }
+
+    public Boolean getReusePort() {
+        return false;
+    }
+
+    public Boolean getEdgeTriggered() {
+        return true;
+    }
+
+}
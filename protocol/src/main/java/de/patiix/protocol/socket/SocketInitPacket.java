@@ -0,0 +1,96 @@
+package de.patiix.protocol.socket;
+
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.packet.serializer.ObjectSerializer;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class SocketInitPacket extends Packet {
+
+    private static final ObjectSerializer KEY_SERIALIZER = new ObjectSerializer();
+
+    private Object key;
+    private boolean compact;
+    private boolean acknowledge;
+    private long pool;
+
+    public SocketInitPacket() {
+    }
+
+    public SocketInitPacket(Object key) {
+        this(key, false);
+    }
+
+    public SocketInitPacket(Object key, boolean compact) {
+        this(key, compact, false);
+    }
+
+    public SocketInitPacket(Object key, boolean compact, boolean acknowledge) {
+        this(key, compact, acknowledge, 0);
+    }
+
+    public SocketInitPacket(Object key, boolean compact, boolean acknowledge, long pool) {
+        this.key = key;
+        this.compact = compact;
+        this.acknowledge = acknowledge;
+        this.pool = pool;
+    }
+
+    @Override
+    public void read(PacketBuffer buffer) {
+        this.key = buffer.read(KEY_SERIALIZER);
+        this.compact = buffer.readBoolean();
+        this.acknowledge = buffer.readBoolean();
+        this.pool = buffer.readLong();
+    }
+
+    @Override
+    public void write(PacketBuffer buffer) {
+        buffer.write(this.key, KEY_SERIALIZER);
+        buffer.writeBoolean(this.compact);
+        buffer.writeBoolean(this.acknowledge);
+        buffer.writeLong(this.pool);
+    }
+
+    public Object getKey() {
+        return this.key;
+    }
+
+    public boolean isCompact() {
+        return this.compact;
+    }
+
+    public boolean isAcknowledge() {
+        return this.acknowledge;
+    }
+
+    public long getPool() {
+        return this.pool;
+    }
+
+    public void test() {
+    }
+
+}
@@ -0,0 +1,98 @@
+package de.patiix.protocol.socket;
+
+import de.patiix.protocol.Transport;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollMode;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class SocketOptions {
+
+    public static void apply(ServerBootstrap serverBootstrap, SocketConfig config, Transport transport) {
+        serverBootstrap.option(ChannelOption.SO_BACKLOG, config.getBacklog());
+        serverBootstrap.option(ChannelOption.ALLOCATOR, config.getAllocator());
+
+        // accepted channels inherit the receive buffer of the listening socket, the tcp window scale is negotiated before the child exists
+        if (config.getReceiveBufferSize() > 0) {
+            serverBootstrap.option(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize());
+        }
+
+        serverBootstrap.childOption(ChannelOption.TCP_NODELAY, config.getTcpNoDelay());
+        serverBootstrap.childOption(ChannelOption.SO_KEEPALIVE, config.getKeepAlive());
+        serverBootstrap.childOption(ChannelOption.ALLOCATOR, config.getAllocator());
+        serverBootstrap.childOption(ChannelOption.RCVBUF_ALLOCATOR, config.getRecvByteBufAllocator());
+        serverBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(config.getWriteBufferLowWaterMark(), config.getWriteBufferHighWaterMark()));
+
+        if (config.getSendBufferSize() > 0) {
+            serverBootstrap.childOption(ChannelOption.SO_SNDBUF, config.getSendBufferSize());
+        }
+        if (config.getReceiveBufferSize() > 0) {
+            serverBootstrap.childOption(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize());
+        }
+
+        if (transport == Transport.EPOLL) {
+            serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, config.getReusePort());
+            serverBootstrap.option(EpollChannelOption.EPOLL_MODE, getEpollMode(config));
+            serverBootstrap.childOption(EpollChannelOption.TCP_QUICKACK, config.getTcpQuickAck());
+            serverBootstrap.childOption(EpollChannelOption.EPOLL_MODE, getEpollMode(config));
+
+            if (config.getTcpFastOpen() > 0) {
+                serverBootstrap.option(ChannelOption.TCP_FASTOPEN, config.getTcpFastOpen());
+            }
+        }
+    }
+
+    public static void apply(Bootstrap bootstrap, SocketConfig config, Transport transport) {
+        bootstrap.option(ChannelOption.TCP_NODELAY, config.getTcpNoDelay());
+        bootstrap.option(ChannelOption.SO_KEEPALIVE, config.getKeepAlive());
+        bootstrap.option(ChannelOption.ALLOCATOR, config.getAllocator());
+        bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, config.getRecvByteBufAllocator());
+        bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(config.getWriteBufferLowWaterMark(), config.getWriteBufferHighWaterMark()));
+
+        if (config.getSendBufferSize() > 0) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, config.getSendBufferSize());
+        }
+        if (config.getReceiveBufferSize() > 0) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize());
+        }
+
+        if (transport == Transport.EPOLL) {
+            bootstrap.option(EpollChannelOption.TCP_QUICKACK, config.getTcpQuickAck());
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, getEpollMode(config));
+
+            if (config.getTcpFastOpen() > 0) {
+                bootstrap.option(ChannelOption.TCP_FASTOPEN_CONNECT, true);
+            }
+        }
+    }
+
+    private static EpollMode getEpollMode(SocketConfig config) {
+        return config.getEdgeTriggered() ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED;
+    }
+
+}
@@ -1,5 +1,7 @@
 package de.patiix.protocol.socket;
 
+import io.netty.channel.Channel;
+
 /*
  * MIT License
  *
@@ -23,11 +25,8 @@ package de.patiix.protocol.socket;
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-public abstract class SocketConfig {
-
-    public abstract String getHostname();
-    public abstract Integer getPort();
+public interface WritabilityListener {
 
-    public abstract Class<?> getKey();
+    void writabilityChanged(Channel channel, boolean writable);
 
 }
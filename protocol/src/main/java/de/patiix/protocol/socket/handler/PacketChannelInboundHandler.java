@@ -43,6 +43,18 @@ public abstract class PacketChannelInboundHandler extends SimpleChannelInboundHa
     @Override
     public abstract void channelRead0(ChannelHandlerContext context, Packet packet) throws Exception;
 
+    @Override
+    public void channelInactive(ChannelHandlerContext context) throws Exception {
+        this.socket.getRequests().fail(context.channel());
+        super.channelInactive(context);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext context) throws Exception {
+        this.socket.writabilityChanged(context.channel());
+        super.channelWritabilityChanged(context);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext context, Throwable throwable) throws Exception {
         System.err.println(throwable.getMessage());
@@ -0,0 +1,129 @@
+package de.patiix.protocol.socket.handler;
+
+import de.patiix.protocol.ProtocolUtil;
+import de.patiix.protocol.socket.Socket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketCompressor extends MessageToMessageEncoder<ByteBuf> {
+
+    private static final FastThreadLocal<Deflater[]> DEFLATERS = new FastThreadLocal<>() {
+        @Override
+        protected Deflater[] initialValue() {
+            return new Deflater[11];
+        }
+
+        @Override
+        protected void onRemoval(Deflater[] deflaters) {
+            for (Deflater deflater : deflaters) {
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+        }
+    };
+
+    private final Socket socket;
+
+    public PacketCompressor(Socket socket) {
+        this.socket = socket;
+    }
+
+    @Override
+    public void encode(ChannelHandlerContext context, ByteBuf frame, List<Object> list) throws Exception {
+        int start = frame.readerIndex();
+        int length = ProtocolUtil.readVarInt(frame);
+
+        // the stream header stays uncompressed in front of the compression flag
+        int headerStart = frame.readerIndex();
+        if (this.socket.getConfig().getStreamFragmentSize() > 0) {
+            ProtocolUtil.readVarInt(frame);
+            frame.skipBytes(1);
+        }
+        int headerLength = frame.readerIndex() - headerStart;
+        int dataLength = length - headerLength - 1;
+
+        if (dataLength < this.socket.getConfig().getCompressionThreshold()) {
+            list.add(frame.readerIndex(start).retain());
+            return;
+        }
+
+        int maxFrameSize = this.socket.getConfig().getMaxFrameSize();
+        int lengthSize = ProtocolUtil.getVarIntSize(maxFrameSize);
+
+        Deflater deflater = getDeflater(this.socket.getConfig().getCompressionLevel());
+        deflater.setInput(frame.nioBuffer(frame.readerIndex() + 1, dataLength));
+        deflater.finish();
+
+        ByteBuf compressed = context.alloc().ioBuffer(lengthSize + headerLength + 6 + dataLength / 2);
+
+        try {
+            compressed.writeZero(lengthSize);
+            compressed.writeBytes(frame, headerStart, headerLength);
+            compressed.writeByte(1);
+            ProtocolUtil.writeVarInt(compressed, dataLength);
+
+            while (!(deflater.finished())) {
+                compressed.ensureWritable(Math.max(256, dataLength >> 3));
+
+                int written = deflater.deflate(compressed.nioBuffer(compressed.writerIndex(), compressed.writableBytes()));
+                compressed.writerIndex(compressed.writerIndex() + written);
+            }
+        } catch (Exception exception) {
+            compressed.release();
+            throw exception;
+        } finally {
+            deflater.reset();
+        }
+
+        int compressedLength = compressed.readableBytes() - lengthSize;
+        if (compressedLength >= length || compressedLength > maxFrameSize) {
+            compressed.release();
+            list.add(frame.readerIndex(start).retain());
+            return;
+        }
+
+        ProtocolUtil.setVarInt(compressed, 0, compressedLength, lengthSize);
+        list.add(compressed);
+    }
+
+    private static Deflater getDeflater(int level) {
+        Deflater[] deflaters = DEFLATERS.get();
+
+        Deflater deflater = deflaters[level + 1];
+        if (deflater == null) {
+            deflater = new Deflater(level);
+            deflaters[level + 1] = deflater;
+        }
+
+        return deflater;
+    }
+
+}
@@ -0,0 +1,94 @@
+package de.patiix.protocol.socket.handler;
+
+import de.patiix.protocol.ProtocolUtil;
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.packet.PacketHolder;
+import de.patiix.protocol.socket.Socket;
+import de.patiix.protocol.socket.SocketInitPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import java.util.List;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    private final Socket socket;
+    private final PacketBuffer buffer;
+
+    public PacketDecoder(Socket socket) {
+        this.socket = socket;
+        this.buffer = new PacketBuffer(Unpooled.EMPTY_BUFFER);
+    }
+
+    @Override
+    public void decode(ChannelHandlerContext context, ByteBuf frame, List<Object> list) throws Exception {
+        boolean compact = this.socket.isCompactDecoding(context.channel());
+
+        int id = readId(frame, compact);
+        int correlationId = 0;
+        boolean response = id == Socket.RESPONSE_ID;
+        if (response || id == Socket.REQUEST_ID) {
+            correlationId = readId(frame, compact);
+            id = readId(frame, compact);
+        }
+
+        PacketHolder packetHolder = this.socket.getPackets().get(id);
+        if (packetHolder == null) {
+            return;
+        }
+
+        Packet packet = packetHolder.construct();
+        packet.setCorrelation(correlationId, response);
+
+        try {
+            packet.read(this.buffer.setBuf(frame).setCompact(compact));
+
+            if (packet instanceof SocketInitPacket socketInitPacket) {
+                this.socket.negotiate(context.channel(), socketInitPacket);
+
+                // acknowledgements only switch the wire format and are never dispatched
+                if (socketInitPacket.isAcknowledge()) {
+                    packet.release();
+                    return;
+                }
+            }
+
+            list.add(packet);
+        } catch (Exception exception) {
+            packet.release();
+            throw exception;
+        } finally {
+            this.buffer.setBuf(Unpooled.EMPTY_BUFFER).setCompact(false);
+        }
+    }
+
+    private static int readId(ByteBuf frame, boolean compact) {
+        return compact ? ProtocolUtil.readVarInt(frame) : frame.readInt();
+    }
+
+}
@@ -0,0 +1,103 @@
+package de.patiix.protocol.socket.handler;
+
+import de.patiix.protocol.ProtocolUtil;
+import de.patiix.protocol.socket.Socket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf> {
+
+    private static final FastThreadLocal<Inflater> INFLATERS = new FastThreadLocal<>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+
+        @Override
+        protected void onRemoval(Inflater inflater) {
+            inflater.end();
+        }
+    };
+
+    private final Socket socket;
+
+    public PacketDecompressor(Socket socket) {
+        this.socket = socket;
+    }
+
+    @Override
+    public void decode(ChannelHandlerContext context, ByteBuf frame, List<Object> list) throws Exception {
+        if (frame.readByte() == 0) {
+            list.add(frame.retain());
+            return;
+        }
+
+        int dataLength = ProtocolUtil.readVarInt(frame);
+
+        int maxFrameSize = this.socket.getConfig().getMaxFrameSize();
+        if (dataLength < 0 || dataLength > maxFrameSize) {
+            context.close();
+            throw new TooLongFrameException("decompressed length " + dataLength + " exceeds " + maxFrameSize);
+        }
+
+        Inflater inflater = INFLATERS.get();
+        inflater.setInput(frame.nioBuffer());
+
+        ByteBuf data = context.alloc().ioBuffer(dataLength);
+
+        try {
+            int inflated = 0;
+            while (inflated < dataLength && !(inflater.finished())) {
+                int read = inflater.inflate(data.nioBuffer(inflated, dataLength - inflated));
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += read;
+            }
+
+            if (inflated != dataLength || !(inflater.finished())) {
+                throw new CorruptedFrameException("decompressed length does not match " + dataLength);
+            }
+
+            data.writerIndex(dataLength);
+        } catch (DataFormatException | CorruptedFrameException exception) {
+            data.release();
+            throw exception;
+        } finally {
+            inflater.reset();
+        }
+
+        list.add(data);
+    }
+
+}
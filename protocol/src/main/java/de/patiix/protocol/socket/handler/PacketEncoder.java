@@ -0,0 +1,131 @@
+package de.patiix.protocol.socket.handler;
+
+import de.patiix.protocol.ProtocolUtil;
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.socket.CorrelatedPacket;
+import de.patiix.protocol.socket.Socket;
+import de.patiix.protocol.socket.SocketInitPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.EncoderException;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.TooLongFrameException;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketEncoder extends MessageToByteEncoder<Object> {
+
+    private final Socket socket;
+    private final PacketBuffer buffer;
+
+    public PacketEncoder(Socket socket) {
+        this.socket = socket;
+        this.buffer = new PacketBuffer(Unpooled.EMPTY_BUFFER);
+    }
+
+    @Override
+    public boolean acceptOutboundMessage(Object message) {
+        return message instanceof Packet || message instanceof CorrelatedPacket;
+    }
+
+    @Override
+    public void encode(ChannelHandlerContext context, Object message, ByteBuf buf) throws Exception {
+        Packet packet;
+        int correlationId = 0;
+        boolean response = false;
+        if (message instanceof CorrelatedPacket correlatedPacket) {
+            packet = correlatedPacket.getPacket();
+            correlationId = correlatedPacket.getCorrelationId();
+            response = correlatedPacket.isResponse();
+        } else {
+            packet = (Packet) message;
+        }
+
+        try {
+            if (packet instanceof SocketInitPacket socketInitPacket && socketInitPacket.isCompact() && !(socketInitPacket.isAcknowledge())) {
+                context.channel().attr(Socket.COMPACT_REQUESTED).set(true);
+            }
+
+            boolean compact = !(packet instanceof SocketInitPacket) && this.socket.isCompact(context.channel());
+            // the promise fails for an unknown packet class, only a broadcast counts the missing id itself
+            if (!(encode(this.socket, packet, correlationId, response, this.buffer.setBuf(buf).setCompact(compact)))) {
+                throw new EncoderException("packet " + packet.getClass().getName() + " is not registered");
+            }
+        } finally {
+            this.buffer.setBuf(Unpooled.EMPTY_BUFFER).setCompact(false);
+        }
+    }
+
+    public static boolean encode(Socket socket, Packet packet, PacketBuffer buffer) {
+        return encode(socket, packet, 0, false, buffer);
+    }
+
+    public static boolean encode(Socket socket, Packet packet, int correlationId, boolean response, PacketBuffer buffer) {
+        int id = socket.getPacket(packet.getClass());
+        if (id < 0) {
+            return false;
+        }
+
+        ByteBuf buf = buffer.getBuf();
+
+        int maxFrameSize = socket.getConfig().getMaxFrameSize();
+        int lengthSize = ProtocolUtil.getVarIntSize(maxFrameSize);
+        int start = buf.writerIndex();
+
+        buf.writeZero(lengthSize);
+        if (socket.getConfig().getStreamFragmentSize() > 0) {
+            ProtocolUtil.writeVarInt(buf, packet.getStream());
+            buf.writeByte(PacketStreamEncoder.LAST);
+        }
+        if (socket.getConfig().getCompressionThreshold() >= 0) {
+            buf.writeByte(0);
+        }
+        if (correlationId != 0) {
+            writeId(buffer, response ? Socket.RESPONSE_ID : Socket.REQUEST_ID);
+            writeId(buffer, correlationId);
+        }
+        writeId(buffer, id);
+
+        packet.write(buffer);
+
+        int length = buf.writerIndex() - start - lengthSize;
+        if (length > maxFrameSize) {
+            throw new TooLongFrameException("frame length " + length + " exceeds " + maxFrameSize);
+        }
+
+        ProtocolUtil.setVarInt(buf, start, length, lengthSize);
+        return true;
+    }
+
+    private static void writeId(PacketBuffer buffer, int id) {
+        if (buffer.isCompact()) {
+            ProtocolUtil.writeVarInt(buffer.getBuf(), id);
+        } else {
+            buffer.getBuf().writeInt(id);
+        }
+    }
+
+}
@@ -1,11 +1,11 @@
 package de.patiix.protocol.socket.handler;
 
-import de.patiix.protocol.packet.Packet;
-import de.patiix.protocol.packet.PacketBuffer;
 import de.patiix.protocol.socket.Socket;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
 import java.util.List;
 
 /*
@@ -31,27 +31,59 @@ import java.util.List;
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-public class PacketDecoder extends ByteToMessageDecoder {
+public class PacketFrameDecoder extends ByteToMessageDecoder {
 
     private final Socket socket;
 
-    public PacketDecoder(Socket socket) {
+    public PacketFrameDecoder(Socket socket) {
         this.socket = socket;
     }
 
     @Override
     public void decode(ChannelHandlerContext context, ByteBuf buf, List<Object> list) throws Exception {
-        int id = buf.readInt();
-        if (!(this.socket.getPackets().containsKey(id))) {
+        buf.markReaderIndex();
+
+        int length = this.readLength(buf);
+        if (length < 0) {
+            buf.resetReaderIndex();
             return;
         }
 
-        PacketBuffer buffer = new PacketBuffer(buf.readBytes(buf.readableBytes()));
+        int maxFrameSize = this.socket.getConfig().getMaxFrameSize();
+        if (length > maxFrameSize) {
+            buf.skipBytes(buf.readableBytes());
+            context.close();
+            throw new TooLongFrameException("frame length " + length + " exceeds " + maxFrameSize);
+        }
+
+        if (buf.readableBytes() < length) {
+            buf.resetReaderIndex();
+            return;
+        }
 
-        Packet packet = this.socket.construct(id);
-        packet.read(buffer);
+        list.add(buf.readRetainedSlice(length));
+    }
+
+    private int readLength(ByteBuf buf) {
+        int length = 0;
+
+        for (int i = 0; i < 5; i++) {
+            if (!(buf.isReadable())) {
+                return -1;
+            }
+
+            byte data = buf.readByte();
+            length |= (data & 0x7F) << (i * 7);
+
+            if ((data & 0x80) == 0) {
+                if (length < 0) {
+                    throw new CorruptedFrameException("negative frame length " + length);
+                }
+                return length;
+            }
+        }
 
-        list.add(packet);
+        throw new CorruptedFrameException("frame length exceeds 5 bytes");
     }
 
 }
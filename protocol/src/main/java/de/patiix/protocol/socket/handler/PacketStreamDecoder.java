@@ -0,0 +1,112 @@
+package de.patiix.protocol.socket.handler;
+
+import de.patiix.protocol.ProtocolUtil;
+import de.patiix.protocol.socket.Socket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.util.List;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketStreamDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    private final Socket socket;
+    private final Int2ObjectOpenHashMap<CompositeByteBuf> fragments;
+    private int buffered;
+
+    public PacketStreamDecoder(Socket socket) {
+        this.socket = socket;
+        this.fragments = new Int2ObjectOpenHashMap<>();
+    }
+
+    @Override
+    public void decode(ChannelHandlerContext context, ByteBuf frame, List<Object> list) throws Exception {
+        int stream = ProtocolUtil.readVarInt(frame);
+        boolean last = (frame.readByte() & PacketStreamEncoder.LAST) != 0;
+
+        CompositeByteBuf fragments = this.fragments.get(stream);
+        if (fragments == null) {
+            if (last) {
+                list.add(frame.retain());
+                return;
+            }
+
+            fragments = context.alloc().compositeBuffer(Integer.MAX_VALUE);
+            this.fragments.put(stream, fragments);
+        }
+
+        this.buffered += frame.readableBytes();
+        fragments.addComponent(true, frame.retain());
+
+        int maxFrameSize = this.socket.getConfig().getMaxFrameSize();
+        if (fragments.readableBytes() > maxFrameSize) {
+            int length = fragments.readableBytes();
+            this.release();
+
+            context.close();
+            throw new TooLongFrameException("stream " + stream + " frame length " + length + " exceeds " + maxFrameSize);
+        }
+
+        // every stream stays below the frame limit on its own, the sum over all unfinished streams is limited as well
+        int maxStreamBufferSize = this.socket.getConfig().getMaxStreamBufferSize();
+        if (this.buffered > maxStreamBufferSize) {
+            int buffered = this.buffered;
+            this.release();
+
+            context.close();
+            throw new TooLongFrameException("buffered stream fragments " + buffered + " exceed " + maxStreamBufferSize);
+        }
+
+        if (last) {
+            CompositeByteBuf frameBuf = this.fragments.remove(stream);
+            this.buffered -= frameBuf.readableBytes();
+            list.add(frameBuf);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext context) throws Exception {
+        this.release();
+        super.channelInactive(context);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext context) throws Exception {
+        this.release();
+        super.handlerRemoved(context);
+    }
+
+    private void release() {
+        for (CompositeByteBuf fragments : this.fragments.values()) {
+            fragments.release();
+        }
+        this.fragments.clear();
+        this.buffered = 0;
+    }
+
+}
@@ -0,0 +1,199 @@
+package de.patiix.protocol.socket.handler;
+
+import de.patiix.protocol.ProtocolUtil;
+import de.patiix.protocol.socket.Socket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketStreamEncoder extends ChannelDuplexHandler {
+
+    public static final int LAST = 1;
+
+    private final Socket socket;
+    private final Int2ObjectOpenHashMap<PacketStream> streams;
+    private final ArrayDeque<PacketStream> scheduled;
+    private volatile long pendingBytes;
+
+    public PacketStreamEncoder(Socket socket) {
+        this.socket = socket;
+        this.streams = new Int2ObjectOpenHashMap<>();
+        this.scheduled = new ArrayDeque<>();
+    }
+
+    @Override
+    public void write(ChannelHandlerContext context, Object message, ChannelPromise promise) throws Exception {
+        if (!(message instanceof ByteBuf frame)) {
+            context.write(message, promise);
+            return;
+        }
+
+        int start = frame.readerIndex();
+        ProtocolUtil.readVarInt(frame);
+        int stream = ProtocolUtil.readVarInt(frame);
+        frame.skipBytes(1);
+
+        PacketStream packetStream = this.streams.get(stream);
+
+        // frames that fit into one fragment of an idle stream are already framed correctly by the encoder
+        if (packetStream == null && frame.readableBytes() <= this.socket.getConfig().getStreamFragmentSize()) {
+            context.write(frame.readerIndex(start), promise);
+            return;
+        }
+
+        if (packetStream == null) {
+            packetStream = new PacketStream(stream);
+            this.streams.put(stream, packetStream);
+            this.scheduled.add(packetStream);
+        }
+        packetStream.frames.add(new PendingFrame(frame, promise));
+        this.pendingBytes += frame.readableBytes();
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext context) throws Exception {
+        this.drain(context, false);
+        context.flush();
+    }
+
+    public void flushStreams(ChannelHandlerContext context) {
+        this.drain(context, true);
+        context.flush();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext context) throws Exception {
+        if (context.channel().isWritable() && !(this.scheduled.isEmpty())) {
+            this.drain(context, false);
+            context.flush();
+        }
+        context.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext context) throws Exception {
+        this.discard();
+        context.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext context) throws Exception {
+        this.discard();
+    }
+
+    private void drain(ChannelHandlerContext context, boolean force) {
+        int fragmentSize = this.socket.getConfig().getStreamFragmentSize();
+
+        // one fragment per stream and turn, held back while the outbound buffer is above its high water mark
+        long pendingBytes = this.pendingBytes;
+
+        PacketStream packetStream;
+        while ((force || context.channel().isWritable()) && (packetStream = this.scheduled.poll()) != null) {
+            PendingFrame pendingFrame = packetStream.frames.peek();
+            ByteBuf payload = pendingFrame.frame;
+
+            int length = Math.min(fragmentSize, payload.readableBytes());
+            boolean last = length == payload.readableBytes();
+            this.pendingBytes -= length;
+
+            ByteBuf header = context.alloc().ioBuffer(11);
+            ProtocolUtil.writeVarInt(header, ProtocolUtil.getVarIntSize(packetStream.id) + 1 + length);
+            ProtocolUtil.writeVarInt(header, packetStream.id);
+            header.writeByte(last ? LAST : 0);
+            context.write(header, context.voidPromise());
+
+            if (last) {
+                packetStream.frames.poll();
+                context.write(payload, pendingFrame.promise);
+            } else {
+                context.write(payload.readRetainedSlice(length), context.voidPromise());
+            }
+
+            if (packetStream.frames.isEmpty()) {
+                this.streams.remove(packetStream.id);
+            } else {
+                this.scheduled.add(packetStream);
+            }
+        }
+
+        if (this.pendingBytes != pendingBytes) {
+            this.socket.signalWritable(context.channel());
+        }
+    }
+
+    private void discard() {
+        ClosedChannelException exception = new ClosedChannelException();
+
+        for (PacketStream packetStream : this.scheduled) {
+            PendingFrame pendingFrame;
+            while ((pendingFrame = packetStream.frames.poll()) != null) {
+                ReferenceCountUtil.release(pendingFrame.frame);
+                pendingFrame.promise.tryFailure(exception);
+            }
+        }
+        this.scheduled.clear();
+        this.streams.clear();
+        this.pendingBytes = 0;
+    }
+
+    public int getPendingStreams() {
+        return this.scheduled.size();
+    }
+
+    public long getPendingBytes() {
+        return this.pendingBytes;
+    }
+
+    private static final class PacketStream {
+
+        private final int id;
+        private final ArrayDeque<PendingFrame> frames;
+
+        private PacketStream(int id) {
+            this.id = id;
+            this.frames = new ArrayDeque<>();
+        }
+
+    }
+
+    private static final class PendingFrame {
+
+        private final ByteBuf frame;
+        private final ChannelPromise promise;
+
+        private PendingFrame(ByteBuf frame, ChannelPromise promise) {
+            this.frame = frame;
+            this.promise = promise;
+        }
+
+    }
+
+}
@@ -0,0 +1,194 @@
+package de.patiix.protocol.socket.implementation.client;
+
+import de.patiix.protocol.ProtocolRuntime;
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.socket.ChannelPool;
+import de.patiix.protocol.socket.Socket;
+import de.patiix.protocol.socket.SocketConfig;
+import de.patiix.protocol.socket.SocketOptions;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.PromiseCombiner;
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class SocketClient extends Socket {
+
+    private final String hostname;
+    private final Integer port;
+
+    private final ChannelPool channelPool;
+    private final long poolId;
+    private volatile boolean closed;
+
+    private final EventLoopGroup eventLoopGroup;
+    private final Bootstrap bootstrap;
+
+    @SuppressWarnings("all")
+    private final Object key;
+
+    public SocketClient(SocketConfig config, Object key) throws ClassCastException {
+        super(config);
+
+        if (!(config.getKey().isAssignableFrom(key.getClass()))) {
+            throw new ClassCastException("unable to initialize key");
+        }
+
+        this.key = key;
+
+        this.hostname = config.getHostname();
+        this.port = config.getPort();
+        this.channelPool = new ChannelPool(config.getPoolStrategy());
+
+        // announced with every connection, so the server pools exactly the connections of this client instance
+        long poolId = 0;
+        while (config.getPoolSize() > 1 && poolId == 0) {
+            poolId = ThreadLocalRandom.current().nextLong();
+        }
+        this.poolId = poolId;
+
+        ProtocolRuntime runtime = config.getRuntime();
+        this.eventLoopGroup = runtime.getWorkerGroup();
+
+        this.bootstrap = new Bootstrap();
+        this.bootstrap.group(this.eventLoopGroup);
+        this.bootstrap.channel(runtime.getSocketChannel());
+        SocketOptions.apply(this.bootstrap, config, runtime.getTransport());
+        this.bootstrap.handler(new SocketClientInitializer(this));
+
+        this.connect();
+    }
+
+    @Override
+    public void connect() {
+        for (int i = 0; i < Math.max(1, this.getConfig().getPoolSize()); i++) {
+            this.open();
+        }
+    }
+
+    private void open() {
+        if (this.closed || this.eventLoopGroup.isShuttingDown()) {
+            return;
+        }
+
+        ChannelFuture channelFuture = this.bootstrap.connect(this.hostname, this.port);
+        channelFuture.addListener((ChannelFutureListener) future -> {
+            if (!(future.isSuccess())) {
+                future.channel().eventLoop().schedule(this::open, 2, TimeUnit.SECONDS);
+            } else {
+                this.channelPool.add(future.channel());
+                future.channel().closeFuture().addListener((ChannelFutureListener) closeFuture -> {
+                    this.channelPool.remove(closeFuture.channel());
+                    this.open();
+                });
+
+                // checked after joining the pool, a close() running concurrently either sees this channel or is seen here
+                if (this.closed) {
+                    future.channel().close();
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unused")
+    public Future<Void> close() {
+        this.closed = true;
+
+        Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+
+        PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
+        for (Channel channel : this.channelPool.getChannels()) {
+            promiseCombiner.add(channel.close());
+        }
+        promiseCombiner.finish(promise);
+
+        return promise;
+    }
+
+    @SuppressWarnings("unused")
+    public <T extends Packet> void sendPacket(T packet) {
+        Channel channel = this.getChannel();
+        if (channel != null) {
+            this.write(channel, packet);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public Future<Void> send(Packet packet) {
+        return this.sendPooled(this.getChannel(), packet);
+    }
+
+    @SuppressWarnings("unused")
+    public Future<Void> send(Object routingKey, Packet packet) {
+        return this.sendPooled(this.getChannel(routingKey), packet);
+    }
+
+    private Future<Void> sendPooled(Channel channel, Packet packet) {
+        // the pool is empty until the first connection completes and between reconnects
+        if (channel == null) {
+            return ImmediateEventExecutor.INSTANCE.newFailedFuture(new ClosedChannelException());
+        }
+
+        return this.send(channel, packet);
+    }
+
+    @SuppressWarnings("unused")
+    public <R extends Packet> CompletableFuture<R> request(Packet packet, Class<R> response, Duration timeout) {
+        return this.request(this.getChannel(), packet, response, timeout);
+    }
+
+    @SuppressWarnings("unused")
+    public <R extends Packet> CompletableFuture<R> request(Object routingKey, Packet packet, Class<R> response, Duration timeout) {
+        return this.request(this.getChannel(routingKey), packet, response, timeout);
+    }
+
+    public Channel getChannel() {
+        return this.channelPool.select();
+    }
+
+    public Channel getChannel(Object routingKey) {
+        return this.channelPool.select(routingKey);
+    }
+
+    public long getPoolId() {
+        return this.poolId;
+    }
+
+    @SuppressWarnings("unused")
+    public ChannelPool getChannelPool() {
+        return this.channelPool;
+    }
+
+}
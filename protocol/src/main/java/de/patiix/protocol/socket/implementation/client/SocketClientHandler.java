@@ -2,7 +2,6 @@ package de.patiix.protocol.socket.implementation.client;
 
 import de.patiix.protocol.ProtocolUtil;
 import de.patiix.protocol.packet.Packet;
-import de.patiix.protocol.packet.PacketListener;
 import de.patiix.protocol.socket.SocketInitPacket;
 import de.patiix.protocol.socket.handler.PacketChannelInboundHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -32,23 +31,25 @@ import io.netty.channel.ChannelHandlerContext;
  */
 public class SocketClientHandler extends PacketChannelInboundHandler {
 
+    private final SocketClient socket;
+
     public SocketClientHandler(SocketClient socket) {
         super(socket);
+
+        this.socket = socket;
     }
 
     @Override
     public void channelActive(ChannelHandlerContext context) {
-        ProtocolUtil.set(this.getSocket(), "channel", context.channel());
-        context.channel().writeAndFlush(new SocketInitPacket(ProtocolUtil.get(this.getSocket(), "key")));
+        context.channel().writeAndFlush(new SocketInitPacket(ProtocolUtil.get(this.socket, "key"), this.socket.getConfig().getCompactEncoding(), false, this.socket.getPoolId()));
     }
 
     @Override
-    @SuppressWarnings({"rawtypes", "unchecked"})
     public void channelRead0(ChannelHandlerContext context, Packet packet) {
-        if (this.getSocket().getListeners().containsKey(packet.getClass())) {
-            for (PacketListener listener : this.getSocket().getListeners().get(packet.getClass())) {
-                listener.handle(packet, context.channel());
-            }
+        try {
+            this.getSocket().dispatch(packet, context.channel());
+        } finally {
+            packet.release();
         }
     }
 
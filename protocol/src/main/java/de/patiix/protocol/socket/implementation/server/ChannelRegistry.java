@@ -0,0 +1,98 @@
+package de.patiix.protocol.socket.implementation.server;
+
+import io.netty.channel.Channel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public abstract class ChannelRegistry {
+
+    static final int STRIPES = 32;
+
+    public static ChannelRegistry create(Class<?> keyType) {
+        if (keyType == UUID.class) {
+            return new UUIDChannelRegistry();
+        }
+        if (keyType == Long.class || keyType == long.class) {
+            return new LongChannelRegistry();
+        }
+        return new DefaultChannelRegistry();
+    }
+
+    public Channel register(Object key, Channel channel) {
+        Channel previous = this.put(key, channel);
+
+        if (previous != channel) {
+            channel.closeFuture().addListener(future -> this.remove(key, channel));
+        }
+        return previous;
+    }
+
+    public abstract Channel get(Object key);
+
+    public abstract boolean remove(Object key, Channel channel);
+
+    public abstract int size();
+
+    public abstract void forEach(BiConsumer<Object, Channel> consumer);
+
+    public void forEachChannel(Consumer<Channel> consumer) {
+        this.forEach((key, channel) -> consumer.accept(channel));
+    }
+
+    protected abstract Channel put(Object key, Channel channel);
+
+    static void forEachCopied(StampedLock lock, Consumer<BiConsumer<Object, Channel>> entries, BiConsumer<Object, Channel> consumer) {
+        List<Object> keys = new ArrayList<>();
+        List<Channel> channels = new ArrayList<>();
+
+        // copied under the lock and handed out afterwards, a consumer closing a channel must not re-enter the stripe lock
+        long stamp = lock.readLock();
+        try {
+            entries.accept((key, channel) -> {
+                keys.add(key);
+                channels.add(channel);
+            });
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            consumer.accept(keys.get(i), channels.get(i));
+        }
+    }
+
+    static int mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        return (int) value & (STRIPES - 1);
+    }
+
+}
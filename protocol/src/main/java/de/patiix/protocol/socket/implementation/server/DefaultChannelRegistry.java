@@ -0,0 +1,59 @@
+package de.patiix.protocol.socket.implementation.server;
+
+import io.netty.channel.Channel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class DefaultChannelRegistry extends ChannelRegistry {
+
+    private final ConcurrentHashMap<Object, Channel> channels = new ConcurrentHashMap<>(16, 0.75F, STRIPES);
+
+    @Override
+    public Channel get(Object key) {
+        return this.channels.get(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Channel channel) {
+        return this.channels.remove(key, channel);
+    }
+
+    @Override
+    public int size() {
+        return this.channels.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<Object, Channel> consumer) {
+        this.channels.forEach(consumer);
+    }
+
+    @Override
+    protected Channel put(Object key, Channel channel) {
+        return this.channels.put(key, channel);
+    }
+
+}
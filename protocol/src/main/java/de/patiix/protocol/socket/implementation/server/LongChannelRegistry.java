@@ -0,0 +1,136 @@
+package de.patiix.protocol.socket.implementation.server;
+
+import io.netty.channel.Channel;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class LongChannelRegistry extends ChannelRegistry {
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public LongChannelRegistry() {
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public Channel register(long key, Channel channel) {
+        Channel previous = this.put(key, channel);
+
+        if (previous != channel) {
+            channel.closeFuture().addListener(future -> this.remove(key, channel));
+        }
+        return previous;
+    }
+
+    public Channel get(long key) {
+        Stripe stripe = this.stripes[mix(key)];
+
+        long stamp = stripe.lock.readLock();
+        try {
+            return stripe.channels.get(key);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean remove(long key, Channel channel) {
+        Stripe stripe = this.stripes[mix(key)];
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.channels.remove(key, channel);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Channel register(Object key, Channel channel) {
+        return this.register(((Number) key).longValue(), channel);
+    }
+
+    @Override
+    public Channel get(Object key) {
+        return key instanceof Number ? this.get(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public boolean remove(Object key, Channel channel) {
+        return key instanceof Number && this.remove(((Number) key).longValue(), channel);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.channels.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void forEach(BiConsumer<Object, Channel> consumer) {
+        for (Stripe stripe : this.stripes) {
+            forEachCopied(stripe.lock, entries -> {
+                for (Long2ObjectMap.Entry<Channel> entry : stripe.channels.long2ObjectEntrySet()) {
+                    entries.accept(entry.getLongKey(), entry.getValue());
+                }
+            }, consumer);
+        }
+    }
+
+    @Override
+    protected Channel put(Object key, Channel channel) {
+        return this.put(((Number) key).longValue(), channel);
+    }
+
+    private Channel put(long key, Channel channel) {
+        Stripe stripe = this.stripes[mix(key)];
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.channels.put(key, channel);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private final Long2ObjectOpenHashMap<Channel> channels = new Long2ObjectOpenHashMap<>();
+
+    }
+
+}
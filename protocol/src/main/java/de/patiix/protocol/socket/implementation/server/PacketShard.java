@@ -0,0 +1,89 @@
+package de.patiix.protocol.socket.implementation.server;
+
+import io.netty.util.concurrent.DefaultEventExecutor;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.RejectedExecutionHandlers;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketShard {
+
+    private final int index;
+    private final DefaultEventExecutor executor;
+    private final LongAdder processed;
+    private final LongAdder dropped;
+
+    public PacketShard(int index, int capacity) {
+        this.index = index;
+        this.executor = new DefaultEventExecutor(null, new DefaultThreadFactory("protocol-shard-" + index, true), capacity, RejectedExecutionHandlers.reject());
+        this.processed = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    public boolean execute(Runnable task) {
+        try {
+            this.executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable throwable) {
+                    System.err.println(throwable.getMessage());
+                } finally {
+                    this.processed.increment();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException exception) {
+            this.dropped.increment();
+            return false;
+        }
+    }
+
+    public boolean inShard() {
+        return this.executor.inEventLoop();
+    }
+
+    public Future<?> shutdownGracefully() {
+        return this.executor.shutdownGracefully();
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public int getQueueDepth() {
+        return this.executor.pendingTasks();
+    }
+
+    public long getProcessed() {
+        return this.processed.sum();
+    }
+
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+}
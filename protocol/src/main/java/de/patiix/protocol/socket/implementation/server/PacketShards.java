@@ -0,0 +1,87 @@
+package de.patiix.protocol.socket.implementation.server;
+
+import de.patiix.protocol.socket.ShardPolicy;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketShards {
+
+    public static final AttributeKey<PacketShard> ATTRIBUTE = AttributeKey.valueOf("protocol-shard");
+
+    private final PacketShard[] shards;
+    private final ShardPolicy policy;
+
+    public PacketShards(int count, int capacity, ShardPolicy policy) {
+        this.shards = new PacketShard[count];
+        this.policy = policy;
+
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new PacketShard(i, capacity);
+        }
+    }
+
+    public PacketShard getShard(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+
+        return this.shards[(hash & Integer.MAX_VALUE) % this.shards.length];
+    }
+
+    public PacketShard getShard(int index) {
+        return this.shards[index];
+    }
+
+    public void assign(Object key, Channel channel) {
+        channel.attr(ATTRIBUTE).set(this.getShard(key));
+    }
+
+    public boolean execute(PacketShard shard, Channel channel, Runnable task) {
+        if (shard.execute(task)) {
+            return true;
+        }
+
+        if (this.policy == ShardPolicy.CLOSE) {
+            System.err.println("shard " + shard.getIndex() + " is full, closing " + channel);
+            channel.close();
+        }
+        return false;
+    }
+
+    public void shutdownGracefully() {
+        for (PacketShard shard : this.shards) {
+            shard.shutdownGracefully();
+        }
+    }
+
+    public int size() {
+        return this.shards.length;
+    }
+
+    public ShardPolicy getPolicy() {
+        return this.policy;
+    }
+
+}
@@ -0,0 +1,249 @@
+package de.patiix.protocol.socket.implementation.server;
+
+import de.patiix.protocol.ProtocolRuntime;
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.socket.ChannelPool;
+import de.patiix.protocol.socket.Socket;
+import de.patiix.protocol.socket.SocketConfig;
+import de.patiix.protocol.socket.SocketOptions;
+import de.patiix.protocol.socket.handler.PacketEncoder;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class SocketServer extends Socket {
+
+    private final Integer port;
+    private final ChannelRegistry channels;
+    private final PacketShards shards;
+
+    private Channel channel;
+
+    public SocketServer(SocketConfig config) {
+        super(config);
+
+        this.port = config.getPort();
+        this.channels = ChannelRegistry.create(config.getKey());
+        this.shards = config.getShardCount() > 0 ? new PacketShards(config.getShardCount(), config.getShardCapacity(), config.getShardPolicy()) : null;
+
+        this.connect();
+    }
+
+    @Override
+    public void connect() {
+        ProtocolRuntime runtime = this.getConfig().getRuntime();
+
+        ServerBootstrap serverBootstrap = new ServerBootstrap();
+        serverBootstrap.group(runtime.getBossGroup(), runtime.getWorkerGroup());
+        serverBootstrap.channel(runtime.getServerSocketChannel());
+        SocketOptions.apply(serverBootstrap, this.getConfig(), runtime.getTransport());
+        serverBootstrap.childHandler(new SocketServerInitializer(this));
+
+        ChannelFuture channelFuture = serverBootstrap.bind(this.port);
+        channelFuture.addListener((ChannelFutureListener) future -> {
+            if (!(future.isSuccess())) {
+                System.err.println(future.cause().getMessage());
+            }
+        });
+        channelFuture.channel().closeFuture().addListener((ChannelFutureListener) future -> {
+            if (this.shards != null) {
+                this.shards.shutdownGracefully();
+            }
+        });
+
+        this.channel = channelFuture.channel();
+    }
+
+    @SuppressWarnings("unused")
+    public ChannelFuture close() {
+        this.channels.forEachChannel(channel -> {
+            ChannelPool channelPool = channel.attr(ChannelPool.ATTRIBUTE).get();
+            for (Channel pooled : channelPool != null ? channelPool.getChannels() : new Channel[] {channel}) {
+                pooled.close();
+            }
+        });
+        return this.channel.close();
+    }
+
+    public void registerChannel(Object key, Channel channel) {
+        this.registerChannel(key, channel, 0);
+    }
+
+    public synchronized void registerChannel(Object key, Channel channel, long pool) {
+        Channel registered = this.channels.get(key);
+        ChannelPool channelPool = registered != null && registered.isActive() ? registered.attr(ChannelPool.ATTRIBUTE).get() : null;
+
+        // only further connections of the same pooled client join its pool, any other connection replaces the key as before
+        if (pool == 0 || channelPool == null || channelPool.getId() != pool) {
+            channelPool = new ChannelPool(this.getConfig().getPoolStrategy(), pool);
+            this.channels.register(key, channel);
+        }
+
+        channel.attr(ChannelPool.ATTRIBUTE).set(channelPool);
+        channelPool.add(channel);
+
+        ChannelPool joined = channelPool;
+        channel.closeFuture().addListener(future -> this.unregisterChannel(key, channel, joined));
+
+        if (this.shards != null) {
+            this.shards.assign(key, channel);
+        }
+    }
+
+    private synchronized void unregisterChannel(Object key, Channel channel, ChannelPool channelPool) {
+        channelPool.remove(channel);
+
+        // removed here instead of relying on the registry's own close listener, which runs after this one for a handed over channel
+        if (this.channels.get(key) == channel) {
+            this.channels.remove(key, channel);
+        }
+
+        // hand the key over to a remaining connection of the pool
+        Channel[] channels = channelPool.getChannels();
+        if (channels.length > 0 && this.channels.get(key) == null) {
+            this.channels.register(key, channels[0]);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public <T extends Packet> void sendPacket(Object key, T packet) {
+        Channel channel = this.getChannel(key);
+        if (channel != null) {
+            this.write(channel, packet);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public Future<Void> send(Object key, Packet packet) {
+        return this.send(key, null, packet);
+    }
+
+    @SuppressWarnings("unused")
+    public Future<Void> send(Object key, Object routingKey, Packet packet) {
+        Channel channel = this.getChannel(key, routingKey);
+        if (channel == null) {
+            return ImmediateEventExecutor.INSTANCE.newFailedFuture(new ClosedChannelException());
+        }
+
+        return this.send(channel, packet);
+    }
+
+    @SuppressWarnings("unused")
+    public <R extends Packet> CompletableFuture<R> request(Object key, Packet packet, Class<R> response, Duration timeout) {
+        return this.request(this.getChannel(key), packet, response, timeout);
+    }
+
+    @SuppressWarnings("unused")
+    public BroadcastResult broadcast(Packet packet) {
+        return this.broadcast(packet, key -> true);
+    }
+
+    public BroadcastResult broadcast(Packet packet, Predicate<Object> filter) {
+        ByteBuf[] frames = new ByteBuf[2];
+        int[] counts = new int[2];
+        boolean[] failed = new boolean[1];
+
+        try {
+            this.channels.forEach((key, registered) -> {
+                Channel channel = this.select(registered, null);
+                if (failed[0] || !(channel.isActive()) || !(filter.test(key))) {
+                    counts[1]++;
+                    return;
+                }
+
+                int format = this.isCompact(channel) ? 1 : 0;
+                if (frames[format] == null) {
+                    frames[format] = this.getConfig().getAllocator().ioBuffer();
+
+                    if (!(PacketEncoder.encode(this, packet, new PacketBuffer(frames[format]).setCompact(format == 1)))) {
+                        failed[0] = true;
+                        counts[1]++;
+                        return;
+                    }
+                }
+
+                // a broadcast never waits for one slow channel, so BLOCK rejects like FAIL here
+                ChannelFuture future = this.trySend(channel, frames[format].retainedDuplicate(), packet.getPriority());
+                if (future.isDone() && !(future.isSuccess())) {
+                    counts[1]++;
+                } else {
+                    counts[0]++;
+                }
+            });
+
+            return new BroadcastResult(counts[0], counts[1]);
+        } finally {
+            for (ByteBuf frame : frames) {
+                if (frame != null) {
+                    frame.release();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public Channel getChannel(Object key) {
+        return this.getChannel(key, null);
+    }
+
+    public Channel getChannel(Object key, Object routingKey) {
+        return this.select(this.channels.get(key), routingKey);
+    }
+
+    private Channel select(Channel channel, Object routingKey) {
+        if (channel == null) {
+            return null;
+        }
+
+        ChannelPool channelPool = channel.attr(ChannelPool.ATTRIBUTE).get();
+        if (channelPool == null) {
+            return channel;
+        }
+
+        Channel selected = channelPool.select(routingKey);
+        return selected != null ? selected : channel;
+    }
+
+    @SuppressWarnings("unused")
+    public ChannelRegistry getChannels() {
+        return this.channels;
+    }
+
+    @SuppressWarnings("unused")
+    public PacketShards getShards() {
+        return this.shards;
+    }
+
+}
@@ -1,7 +1,6 @@
 package de.patiix.protocol.socket.implementation.server;
 
 import de.patiix.protocol.packet.Packet;
-import de.patiix.protocol.packet.PacketListener;
 import de.patiix.protocol.socket.handler.PacketChannelInboundHandler;
 import io.netty.channel.ChannelHandlerContext;
 
@@ -30,17 +29,37 @@ import io.netty.channel.ChannelHandlerContext;
  */
 public class SocketServerHandler extends PacketChannelInboundHandler {
 
+    private final SocketServer socket;
+
     public SocketServerHandler(SocketServer socket) {
         super(socket);
+
+        this.socket = socket;
     }
 
     @Override
-    @SuppressWarnings({"rawtypes", "unchecked"})
     public void channelRead0(ChannelHandlerContext context, Packet packet) throws Exception {
-        if (this.getSocket().getListeners().containsKey(packet.getClass())) {
-            for (PacketListener listener : this.getSocket().getListeners().get(packet.getClass())) {
-                listener.handle(packet, context.channel());
+        try {
+            PacketShard shard = context.channel().attr(PacketShards.ATTRIBUTE).get();
+            if (shard == null) {
+                this.socket.dispatch(packet, context.channel());
+                return;
+            }
+
+            packet.retain();
+            if (!(this.socket.getShards().execute(shard, context.channel(), () -> this.dispatch(packet, context)))) {
+                packet.release();
             }
+        } finally {
+            packet.release();
+        }
+    }
+
+    private void dispatch(Packet packet, ChannelHandlerContext context) {
+        try {
+            this.socket.dispatch(packet, context.channel());
+        } finally {
+            packet.release();
         }
     }
 
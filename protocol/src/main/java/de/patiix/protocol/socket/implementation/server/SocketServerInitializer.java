@@ -1,7 +1,12 @@
 package de.patiix.protocol.socket.implementation.server;
 
+import de.patiix.protocol.socket.handler.PacketCompressor;
 import de.patiix.protocol.socket.handler.PacketDecoder;
+import de.patiix.protocol.socket.handler.PacketDecompressor;
 import de.patiix.protocol.socket.handler.PacketEncoder;
+import de.patiix.protocol.socket.handler.PacketFrameDecoder;
+import de.patiix.protocol.socket.handler.PacketStreamDecoder;
+import de.patiix.protocol.socket.handler.PacketStreamEncoder;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.SocketChannel;
 
@@ -38,7 +43,22 @@ public class SocketServerInitializer extends ChannelInitializer<SocketChannel> {
 
     @Override
     public void initChannel(SocketChannel socketChannel) throws Exception {
+        this.socket.initChannel(socketChannel);
+
+        socketChannel.pipeline().addLast(new PacketFrameDecoder(this.socket));
+        if (this.socket.getConfig().getStreamFragmentSize() > 0) {
+            socketChannel.pipeline().addLast(new PacketStreamDecoder(this.socket));
+        }
+        if (this.socket.getConfig().getCompressionThreshold() >= 0) {
+            socketChannel.pipeline().addLast(new PacketDecompressor(this.socket));
+        }
         socketChannel.pipeline().addLast(new PacketDecoder(this.socket));
+        if (this.socket.getConfig().getStreamFragmentSize() > 0) {
+            socketChannel.pipeline().addLast(new PacketStreamEncoder(this.socket));
+        }
+        if (this.socket.getConfig().getCompressionThreshold() >= 0) {
+            socketChannel.pipeline().addLast(new PacketCompressor(this.socket));
+        }
         socketChannel.pipeline().addLast(new PacketEncoder(this.socket));
         socketChannel.pipeline().addLast(new SocketServerHandler(this.socket));
     }
@@ -0,0 +1,183 @@
+package de.patiix.protocol.socket.implementation.server;
+
+import io.netty.channel.Channel;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class UUIDChannelRegistry extends ChannelRegistry {
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public UUIDChannelRegistry() {
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public Channel get(long mostSignificantBits, long leastSignificantBits) {
+        long hash = mostSignificantBits ^ leastSignificantBits;
+        Stripe stripe = this.stripes[mix(hash)];
+
+        long stamp = stripe.lock.readLock();
+        try {
+            for (Node node = stripe.nodes.get(hash); node != null; node = node.next) {
+                if (node.mostSignificantBits == mostSignificantBits && node.leastSignificantBits == leastSignificantBits) {
+                    return node.channel;
+                }
+            }
+            return null;
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Channel get(Object key) {
+        if (!(key instanceof UUID)) {
+            return null;
+        }
+
+        UUID uniqueId = (UUID) key;
+        return this.get(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+    }
+
+    @Override
+    public boolean remove(Object key, Channel channel) {
+        if (!(key instanceof UUID)) {
+            return false;
+        }
+
+        UUID uniqueId = (UUID) key;
+        long hash = uniqueId.getMostSignificantBits() ^ uniqueId.getLeastSignificantBits();
+        Stripe stripe = this.stripes[mix(hash)];
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            Node previous = null;
+            for (Node node = stripe.nodes.get(hash); node != null; previous = node, node = node.next) {
+                if (node.mostSignificantBits == uniqueId.getMostSignificantBits()
+                        && node.leastSignificantBits == uniqueId.getLeastSignificantBits()) {
+                    if (node.channel != channel) {
+                        return false;
+                    }
+
+                    if (previous != null) {
+                        previous.next = node.next;
+                    } else if (node.next != null) {
+                        stripe.nodes.put(hash, node.next);
+                    } else {
+                        stripe.nodes.remove(hash);
+                    }
+                    stripe.size--;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void forEach(BiConsumer<Object, Channel> consumer) {
+        for (Stripe stripe : this.stripes) {
+            forEachCopied(stripe.lock, entries -> {
+                for (Node head : stripe.nodes.values()) {
+                    for (Node node = head; node != null; node = node.next) {
+                        entries.accept(new UUID(node.mostSignificantBits, node.leastSignificantBits), node.channel);
+                    }
+                }
+            }, consumer);
+        }
+    }
+
+    @Override
+    protected Channel put(Object key, Channel channel) {
+        UUID uniqueId = (UUID) key;
+        long hash = uniqueId.getMostSignificantBits() ^ uniqueId.getLeastSignificantBits();
+        Stripe stripe = this.stripes[mix(hash)];
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            Node head = stripe.nodes.get(hash);
+            for (Node node = head; node != null; node = node.next) {
+                if (node.mostSignificantBits == uniqueId.getMostSignificantBits()
+                        && node.leastSignificantBits == uniqueId.getLeastSignificantBits()) {
+                    Channel previous = node.channel;
+                    node.channel = channel;
+                    return previous;
+                }
+            }
+
+            stripe.nodes.put(hash, new Node(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits(), channel, head));
+            stripe.size++;
+            return null;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private final Long2ObjectOpenHashMap<Node> nodes = new Long2ObjectOpenHashMap<>();
+        private int size;
+
+    }
+
+    private static final class Node {
+
+        private final long mostSignificantBits;
+        private final long leastSignificantBits;
+        private Channel channel;
+        private Node next;
+
+        private Node(long mostSignificantBits, long leastSignificantBits, Channel channel, Node next) {
+            this.mostSignificantBits = mostSignificantBits;
+            this.leastSignificantBits = leastSignificantBits;
+            this.channel = channel;
+            this.next = next;
+        }
+
+    }
+
+}
@@ -0,0 +1,192 @@
+package de.patiix.protocol;
+
+import de.patiix.protocol.socket.ChannelPool;
+import de.patiix.protocol.socket.PoolStrategy;
+import de.patiix.protocol.socket.SocketConfig;
+import de.patiix.protocol.socket.implementation.server.SocketServer;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.UUID;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class ChannelPoolTest {
+
+    @Test
+    public void testRoundRobin() {
+        ChannelPool channelPool = new ChannelPool(PoolStrategy.ROUND_ROBIN);
+        Assert.assertNull(channelPool.select());
+
+        EmbeddedChannel first = new EmbeddedChannel();
+        EmbeddedChannel second = new EmbeddedChannel();
+        channelPool.add(first);
+        channelPool.add(second);
+
+        Assert.assertSame(first, channelPool.select());
+        Assert.assertSame(second, channelPool.select());
+        Assert.assertSame(first, channelPool.select());
+
+        Assert.assertTrue(channelPool.remove(first));
+        Assert.assertFalse(channelPool.remove(first));
+        Assert.assertSame(second, channelPool.select());
+        Assert.assertEquals(1, channelPool.size());
+    }
+
+    @Test
+    public void testHash() {
+        ChannelPool channelPool = new ChannelPool(PoolStrategy.HASH);
+        for (int i = 0; i < 4; i++) {
+            channelPool.add(new EmbeddedChannel());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            UUID routingKey = UUID.randomUUID();
+            Channel channel = channelPool.select(routingKey);
+            Assert.assertSame(channel, channelPool.select(routingKey));
+        }
+    }
+
+    @Test
+    public void testLeastPendingBytes() {
+        ChannelPool channelPool = new ChannelPool(PoolStrategy.LEAST_PENDING_BYTES);
+
+        EmbeddedChannel busy = new EmbeddedChannel();
+        EmbeddedChannel idle = new EmbeddedChannel();
+        channelPool.add(busy);
+        channelPool.add(idle);
+
+        busy.write(Unpooled.wrappedBuffer(new byte[1024]));
+
+        Assert.assertSame(idle, channelPool.select());
+        Assert.assertSame(idle, channelPool.select());
+
+        busy.flush();
+        idle.write(Unpooled.wrappedBuffer(new byte[1024]));
+
+        Assert.assertSame(busy, channelPool.select());
+    }
+
+    @Test
+    public void testServerPool() throws InterruptedException {
+        SocketServer socketServer = new SocketServer(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return "127.0.0.1";
+            }
+
+            @Override
+            public Integer getPort() {
+                return 0;
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return UUID.class;
+            }
+        });
+
+        try {
+            UUID key = UUID.randomUUID();
+            EmbeddedChannel first = new EmbeddedChannel();
+            EmbeddedChannel second = new EmbeddedChannel();
+            socketServer.registerChannel(key, first, 7);
+            socketServer.registerChannel(key, second, 7);
+
+            Assert.assertSame(first, socketServer.getChannels().get(key));
+            Assert.assertSame(first, socketServer.getChannel(key));
+            Assert.assertSame(second, socketServer.getChannel(key));
+            Assert.assertEquals(1, socketServer.getChannels().size());
+
+            // the registered connection closes, so the key is handed over to the rest of the pool
+            first.close();
+            Assert.assertSame(second, socketServer.getChannels().get(key));
+            Assert.assertSame(second, socketServer.getChannel(key));
+
+            // a connection of another client instance, or without a pool, replaces the key instead of joining
+            EmbeddedChannel other = new EmbeddedChannel();
+            socketServer.registerChannel(key, other, 8);
+            Assert.assertSame(other, socketServer.getChannel(key));
+            Assert.assertSame(other, socketServer.getChannel(key));
+
+            EmbeddedChannel single = new EmbeddedChannel();
+            socketServer.registerChannel(key, single);
+            Assert.assertSame(single, socketServer.getChannel(key));
+            Assert.assertEquals(1, single.attr(ChannelPool.ATTRIBUTE).get().size());
+
+            // closing a replaced connection leaves the key alone
+            other.close();
+            Assert.assertSame(single, socketServer.getChannels().get(key));
+        } finally {
+            socketServer.close().sync();
+        }
+    }
+
+    @Test
+    public void testServerPoolHandover() throws InterruptedException {
+        SocketServer socketServer = new SocketServer(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return "127.0.0.1";
+            }
+
+            @Override
+            public Integer getPort() {
+                return 0;
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return UUID.class;
+            }
+        });
+
+        try {
+            UUID key = UUID.randomUUID();
+            EmbeddedChannel first = new EmbeddedChannel();
+            EmbeddedChannel second = new EmbeddedChannel();
+            EmbeddedChannel third = new EmbeddedChannel();
+            socketServer.registerChannel(key, first, 7);
+            socketServer.registerChannel(key, second, 7);
+            socketServer.registerChannel(key, third, 7);
+
+            first.close();
+            Assert.assertSame(second, socketServer.getChannels().get(key));
+
+            // the handed over connection closes as well, the key moves on instead of getting lost
+            second.close();
+            Assert.assertSame(third, socketServer.getChannels().get(key));
+            Assert.assertSame(third, socketServer.getChannel(key));
+
+            third.close();
+            Assert.assertNull(socketServer.getChannels().get(key));
+            Assert.assertEquals(0, socketServer.getChannels().size());
+        } finally {
+            socketServer.close().sync();
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package de.patiix.protocol;
+
+import de.patiix.protocol.socket.implementation.server.ChannelRegistry;
+import de.patiix.protocol.socket.implementation.server.DefaultChannelRegistry;
+import de.patiix.protocol.socket.implementation.server.LongChannelRegistry;
+import de.patiix.protocol.socket.implementation.server.UUIDChannelRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class ChannelRegistryTest {
+
+    @Test
+    public void testCreate() {
+        Assert.assertTrue(ChannelRegistry.create(UUID.class) instanceof UUIDChannelRegistry);
+        Assert.assertTrue(ChannelRegistry.create(Long.class) instanceof LongChannelRegistry);
+        Assert.assertTrue(ChannelRegistry.create(String.class) instanceof DefaultChannelRegistry);
+    }
+
+    @Test
+    public void testUUIDRegistry() {
+        this.testRegistry(new UUIDChannelRegistry(), index -> new UUID(index % 4, index));
+    }
+
+    @Test
+    public void testLongRegistry() {
+        this.testRegistry(new LongChannelRegistry(), index -> (long) index);
+    }
+
+    @Test
+    public void testDefaultRegistry() {
+        this.testRegistry(new DefaultChannelRegistry(), index -> "client#" + index);
+    }
+
+    private void testRegistry(ChannelRegistry registry, IntFunction<Object> keys) {
+        Map<Object, Channel> channels = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Channel channel = new EmbeddedChannel();
+            channels.put(keys.apply(i), channel);
+
+            Assert.assertNull(registry.register(keys.apply(i), channel));
+        }
+
+        Assert.assertEquals(100, registry.size());
+        for (Map.Entry<Object, Channel> entry : channels.entrySet()) {
+            Assert.assertSame(entry.getValue(), registry.get(entry.getKey()));
+        }
+
+        Map<Object, Channel> iterated = new HashMap<>();
+        registry.forEach(iterated::put);
+        Assert.assertEquals(channels, iterated);
+
+        // a replaced channel closing later must not remove its successor
+        Channel replacement = new EmbeddedChannel();
+        Channel replaced = channels.get(keys.apply(0));
+        Assert.assertSame(replaced, registry.register(keys.apply(0), replacement));
+        replaced.close();
+        Assert.assertSame(replacement, registry.get(keys.apply(0)));
+
+        for (Channel channel : channels.values()) {
+            channel.close();
+        }
+        replacement.close();
+
+        Assert.assertEquals(0, registry.size());
+        Assert.assertNull(registry.get(keys.apply(1)));
+    }
+
+}
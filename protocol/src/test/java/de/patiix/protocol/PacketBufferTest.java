@@ -0,0 +1,310 @@
+package de.patiix.protocol;
+
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.packet.StringCache;
+import de.patiix.protocol.packet.codec.PacketField;
+import de.patiix.protocol.packet.codec.RuntimeCodec;
+import de.patiix.protocol.packet.serializer.ObjectSerializer;
+import de.patiix.protocol.packet.serializer.StringSerializer;
+import de.patiix.protocol.packet.serializer.TypeRegistry;
+import io.netty.handler.codec.CorruptedFrameException;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketBufferTest {
+
+    // a tag of its own, so other tests may register custom tags in the same jvm
+    private static final int TEST_TAG = TypeRegistry.FIRST_CUSTOM_TAG + 1000;
+
+    @Test
+    public void testVarInt() {
+        PacketBuffer buffer = new PacketBuffer();
+        int[] values = {0, 1, 127, 128, 16383, 16384, 2097151, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+
+        for (int value : values) {
+            buffer.writeVarInt(value);
+        }
+        for (int value : values) {
+            Assert.assertEquals(value, buffer.readVarInt());
+        }
+
+        buffer.writeVarInt(127);
+        Assert.assertEquals(1, buffer.readableBytes());
+    }
+
+    @Test
+    public void testVarLong() {
+        PacketBuffer buffer = new PacketBuffer();
+        long[] values = {0L, 1L, 127L, 128L, Integer.MAX_VALUE, Long.MAX_VALUE, -1L, Long.MIN_VALUE};
+
+        for (long value : values) {
+            buffer.writeVarLong(value);
+        }
+        for (long value : values) {
+            Assert.assertEquals(value, buffer.readVarLong());
+        }
+    }
+
+    @Test
+    public void testZigZag() {
+        PacketBuffer buffer = new PacketBuffer();
+
+        buffer.writeZigZagInt(-1);
+        Assert.assertEquals(1, buffer.readableBytes());
+        Assert.assertEquals(-1, buffer.readZigZagInt());
+
+        buffer.writeZigZagInt(Integer.MIN_VALUE);
+        buffer.writeZigZagLong(Long.MIN_VALUE);
+        buffer.writeZigZagLong(-64L);
+        Assert.assertEquals(Integer.MIN_VALUE, buffer.readZigZagInt());
+        Assert.assertEquals(Long.MIN_VALUE, buffer.readZigZagLong());
+        Assert.assertEquals(-64L, buffer.readZigZagLong());
+    }
+
+    @Test
+    public void testString() {
+        PacketBuffer buffer = new PacketBuffer();
+        String[] values = {"", "ascii", "grüße", "日本語", "\uD83D\uDE00"};
+
+        for (String value : values) {
+            buffer.writeString(value);
+        }
+        for (String value : values) {
+            Assert.assertEquals(value, buffer.readString());
+        }
+        Assert.assertFalse(buffer.isReadable());
+    }
+
+    @Test
+    public void testStringCache() {
+        PacketBuffer buffer = new PacketBuffer();
+        StringCache cache = new StringCache();
+
+        buffer.writeString("player");
+        buffer.writeString("player");
+        buffer.writeString("grüße");
+
+        String value = buffer.readString(cache);
+        Assert.assertEquals("player", value);
+        Assert.assertSame(value, buffer.readString(cache));
+        Assert.assertEquals("grüße", buffer.readString(cache));
+    }
+
+    @Test
+    public void testPrimitiveCollections() {
+        PacketBuffer buffer = new PacketBuffer();
+
+        IntList list = IntArrayList.of(1, 2, 3);
+        Int2IntMap scores = new Int2IntOpenHashMap();
+        Int2ObjectMap<String> names = new Int2ObjectOpenHashMap<>();
+        Object2IntMap<String> items = new Object2IntOpenHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            scores.put(i, i * 2);
+        }
+        names.put(7, "seven");
+        items.put("stone", 64);
+
+        buffer.writeIntList(list);
+        buffer.writeLongArray(new long[] {Long.MIN_VALUE, Long.MAX_VALUE});
+        buffer.writeInt2IntMap(scores);
+        buffer.writeInt2ObjectMap(names, new StringSerializer());
+        buffer.writeObject2IntMap(items, new StringSerializer());
+
+        Assert.assertEquals(list, buffer.readIntList());
+        Assert.assertArrayEquals(new long[] {Long.MIN_VALUE, Long.MAX_VALUE}, buffer.readLongArray());
+        Assert.assertEquals(scores, buffer.readInt2IntMap());
+        Assert.assertEquals(names, buffer.readInt2ObjectMap(new StringSerializer()));
+        Assert.assertEquals(items, buffer.readObject2IntMap(new StringSerializer()));
+        Assert.assertFalse(buffer.isReadable());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPrimitiveCollectionLength() {
+        PacketBuffer buffer = new PacketBuffer();
+        buffer.writeInt(Integer.MAX_VALUE);
+
+        buffer.readIntArray();
+    }
+
+    @Test
+    public void testCompactLength() {
+        PacketBuffer buffer = new PacketBuffer().setCompact(true);
+
+        buffer.writeString("compact");
+        Assert.assertEquals(1 + 7, buffer.readableBytes());
+        Assert.assertEquals("compact", buffer.readString());
+    }
+
+    @Test
+    public void testPacketCodec() {
+        ProtocolCodecTestPacket packet = new ProtocolCodecTestPacket();
+        packet.message = "codec";
+        packet.uniqueId = UUID.randomUUID();
+        packet.count = 42;
+        packet.timestamp = -1L;
+        packet.flag = true;
+        packet.ratio = 0.5D;
+        packet.unit = TimeUnit.SECONDS;
+        packet.payload = new byte[] {1, 2, 3};
+        packet.ids = new IntArrayList(new int[] {4, 5});
+        packet.names = Arrays.asList("a", "b");
+        packet.scores = Collections.singletonMap("c", -7);
+        packet.position = new ProtocolCodecTestPacket.Position();
+        packet.position.x = 1.5D;
+        packet.position.y = -2.5D;
+
+        PacketBuffer buffer = new PacketBuffer();
+        packet.write(buffer);
+
+        ProtocolCodecTestPacket result = new ProtocolCodecTestPacket();
+        result.read(buffer);
+
+        Assert.assertFalse(buffer.isReadable());
+        Assert.assertEquals(packet.message, result.message);
+        Assert.assertEquals(packet.uniqueId, result.uniqueId);
+        Assert.assertEquals(packet.count, result.count);
+        Assert.assertEquals(packet.timestamp, result.timestamp);
+        Assert.assertEquals(packet.flag, result.flag);
+        Assert.assertEquals(packet.ratio, result.ratio);
+        Assert.assertEquals(packet.unit, result.unit);
+        Assert.assertArrayEquals(packet.payload, result.payload);
+        Assert.assertEquals(packet.ids, result.ids);
+        Assert.assertEquals(packet.names, result.names);
+        Assert.assertEquals(packet.scores, result.scores);
+        Assert.assertEquals(packet.position.x, result.position.x, 0D);
+        Assert.assertEquals(packet.position.y, result.position.y, 0D);
+    }
+
+    @Test
+    public void testRuntimeCodec() {
+        RuntimeCodec<TestRecord> codec = RuntimeCodec.of(TestRecord.class);
+        Assert.assertSame(codec, RuntimeCodec.of(TestRecord.class));
+
+        TestRecord value = new TestRecord(UUID.randomUUID(), "runtime", -3, TimeUnit.MINUTES,
+                Arrays.asList(new TestRecord(UUID.randomUUID(), "nested", 1, TimeUnit.DAYS, Collections.emptyList(), Collections.emptyMap())),
+                Collections.singletonMap("d", 9L));
+
+        PacketBuffer buffer = new PacketBuffer();
+        buffer.write(value, codec);
+
+        Assert.assertEquals(value, buffer.read(codec));
+        Assert.assertFalse(buffer.isReadable());
+    }
+
+    @Test
+    public void testRuntimeCodecAnnotatedClass() {
+        ProtocolCodecTestPacket packet = new ProtocolCodecTestPacket();
+        packet.message = "runtime";
+        packet.uniqueId = UUID.randomUUID();
+        packet.ratio = 1D;
+        packet.unit = TimeUnit.HOURS;
+        packet.payload = new byte[0];
+        packet.ids = new IntArrayList();
+        packet.names = Collections.emptyList();
+        packet.scores = Collections.singletonMap("e", 3);
+        packet.position = new ProtocolCodecTestPacket.Position();
+
+        PacketBuffer buffer = new PacketBuffer();
+        packet.write(buffer);
+
+        ProtocolCodecTestPacket result = new ProtocolCodecTestPacket();
+        RuntimeCodec.of(ProtocolCodecTestPacket.class).read(buffer, result);
+
+        Assert.assertFalse(buffer.isReadable());
+        Assert.assertEquals(packet.message, result.message);
+        Assert.assertEquals(packet.uniqueId, result.uniqueId);
+        Assert.assertEquals(packet.unit, result.unit);
+        Assert.assertEquals(packet.scores, result.scores);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRuntimeCodecUnsupported() {
+        RuntimeCodec.of(Object.class);
+    }
+
+    @Test
+    public void testObjectSerializer() {
+        TypeRegistry.register(TEST_TAG, TestRecord.class);
+
+        try {
+            ObjectSerializer serializer = new ObjectSerializer();
+            TestRecord record = new TestRecord(UUID.randomUUID(), "registered", 2, TimeUnit.SECONDS, Collections.emptyList(), Collections.emptyMap());
+            List<Object> values = Arrays.asList(null, "key", UUID.randomUUID(), true, (byte) 1, (short) 2, 'c', -3, 4L, 5F, 6D,
+                    Arrays.asList(1, "two"), Collections.singletonMap("three", 3L), record);
+
+            PacketBuffer buffer = new PacketBuffer();
+            for (Object value : values) {
+                serializer.write(buffer, value);
+            }
+            for (Object value : values) {
+                Assert.assertEquals(value, serializer.read(buffer));
+            }
+            Assert.assertFalse(buffer.isReadable());
+
+            serializer.write(buffer, 1);
+            Assert.assertEquals(2, buffer.readableBytes());
+        } finally {
+            Assert.assertTrue(TypeRegistry.unregister(TEST_TAG));
+        }
+
+        Assert.assertEquals(-1, TypeRegistry.getTag(TestRecord.class));
+    }
+
+    @Test
+    public void testObjectSerializerJavaSerialization() {
+        PacketBuffer buffer = new PacketBuffer();
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ObjectSerializer().write(buffer, new Date(0)));
+
+        buffer.clear();
+        new ObjectSerializer(true).write(buffer, new Date(0));
+        int readerIndex = buffer.readerIndex();
+
+        Assert.assertThrows(CorruptedFrameException.class, () -> new ObjectSerializer().read(buffer));
+        buffer.readerIndex(readerIndex);
+        Assert.assertEquals(new Date(0), new ObjectSerializer(true).read(buffer));
+        Assert.assertFalse(buffer.isReadable());
+    }
+
+    public record TestRecord(UUID uniqueId, String name, @PacketField(compact = true) int count, TimeUnit unit,
+                             List<TestRecord> children, Map<String, Long> values) {
+    }
+
+}
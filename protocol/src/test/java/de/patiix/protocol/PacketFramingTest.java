@@ -0,0 +1,894 @@
+package de.patiix.protocol;
+
+import de.patiix.protocol.socket.Socket;
+import de.patiix.protocol.socket.SocketConfig;
+import de.patiix.protocol.socket.SocketInitPacket;
+import de.patiix.protocol.socket.WritePolicy;
+import de.patiix.protocol.socket.handler.PacketCompressor;
+import de.patiix.protocol.socket.handler.PacketDecoder;
+import de.patiix.protocol.socket.handler.PacketDecompressor;
+import de.patiix.protocol.socket.handler.PacketEncoder;
+import de.patiix.protocol.socket.handler.PacketFrameDecoder;
+import de.patiix.protocol.socket.handler.PacketStreamDecoder;
+import de.patiix.protocol.socket.handler.PacketStreamEncoder;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketFramingTest {
+
+    private final SocketConfig config = new SocketConfig() {
+        @Override
+        public String getHostname() {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public Integer getPort() {
+            return 1357;
+        }
+
+        @Override
+        public Class<?> getKey() {
+            return UUID.class;
+        }
+
+        @Override
+        public Integer getMaxFrameSize() {
+            return 1024;
+        }
+    };
+
+    private Socket socket;
+
+    @Before
+    public void setup() {
+        this.socket = new Socket(this.config) {
+            @Override
+            public void connect() {
+            }
+        };
+        this.socket.registerPacket(0, ProtocolTestPacket.class);
+        this.socket.registerPacket(Integer.MAX_VALUE, SocketInitPacket.class, SocketInitPacket::new);
+    }
+
+    @Test
+    public void testCoalescedFrames() {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeBytes(this.encode(new ProtocolTestPacket("first")));
+        buf.writeBytes(this.encode(new ProtocolTestPacket("second")));
+        buf.writeBytes(this.encode(new ProtocolTestPacket("third")));
+
+        EmbeddedChannel channel = this.decoder(this.socket);
+        channel.writeInbound(buf);
+
+        Assert.assertEquals("first", channel.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertEquals("second", channel.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertEquals("third", channel.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testSplitFrame() {
+        ByteBuf buf = this.encode(new ProtocolTestPacket("split across reads"));
+
+        EmbeddedChannel channel = this.decoder(this.socket);
+        channel.writeInbound(buf.readRetainedSlice(1));
+        channel.writeInbound(buf.readRetainedSlice(6));
+        Assert.assertNull(channel.readInbound());
+
+        channel.writeInbound(buf);
+        Assert.assertEquals("split across reads", channel.<ProtocolTestPacket>readInbound().getMessage());
+    }
+
+    @Test
+    public void testRecycledPacket() {
+        this.socket.registerPacket(1, ProtocolTestPacket.class, ProtocolTestPacket::new, true);
+
+        EmbeddedChannel channel = this.decoder(this.socket);
+        channel.writeInbound(this.encode(new ProtocolTestPacket("first")));
+
+        ProtocolTestPacket packet = channel.readInbound();
+        Assert.assertTrue(packet.isRecyclable());
+
+        packet.retain();
+        Assert.assertFalse(packet.release());
+        Assert.assertTrue(packet.release());
+
+        channel.writeInbound(this.encode(new ProtocolTestPacket("second")));
+
+        ProtocolTestPacket recycled = channel.readInbound();
+        Assert.assertSame(packet, recycled);
+        Assert.assertEquals("second", recycled.getMessage());
+    }
+
+    @Test
+    public void testCompactHandshake() {
+        Socket compact = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public Boolean getCompactEncoding() {
+                return true;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        compact.registerPacket(0, ProtocolTestPacket.class);
+        compact.registerPacket(Integer.MAX_VALUE, SocketInitPacket.class, SocketInitPacket::new);
+
+        EmbeddedChannel client = this.connection(compact);
+        EmbeddedChannel server = this.connection(compact);
+
+        client.writeOutbound(new SocketInitPacket(UUID.randomUUID(), true));
+        client.writeOutbound(new ProtocolTestPacket("before"));
+        Assert.assertFalse(compact.isCompact(client));
+
+        this.transfer(client, server);
+        Assert.assertTrue(server.<SocketInitPacket>readInbound().isCompact());
+        Assert.assertEquals("before", server.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertTrue(compact.isCompact(server));
+        Assert.assertFalse(compact.isCompactDecoding(server));
+
+        server.writeOutbound(new ProtocolTestPacket("server"));
+        this.transfer(server, client);
+        Assert.assertEquals("server", client.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertNull(client.readInbound());
+        Assert.assertTrue(compact.isCompact(client));
+        Assert.assertTrue(compact.isCompactDecoding(client));
+
+        client.writeOutbound(new ProtocolTestPacket("client"));
+        this.transfer(client, server);
+        Assert.assertEquals("client", server.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertNull(server.readInbound());
+        Assert.assertTrue(compact.isCompactDecoding(server));
+    }
+
+    @Test
+    public void testCompactHandshakeDeclined() {
+        EmbeddedChannel client = this.connection(this.socket);
+        EmbeddedChannel server = this.connection(this.socket);
+
+        client.writeOutbound(new SocketInitPacket(UUID.randomUUID(), true));
+        this.transfer(client, server);
+        Assert.assertTrue(server.<SocketInitPacket>readInbound().isCompact());
+        Assert.assertFalse(this.socket.isCompact(server));
+
+        // the server is not configured for the compact format, so its acknowledgement keeps both sides on fixed width ids
+        this.transfer(server, client);
+        Assert.assertNull(client.readInbound());
+        Assert.assertFalse(this.socket.isCompact(client));
+        Assert.assertFalse(this.socket.isCompactDecoding(client));
+
+        client.writeOutbound(new ProtocolTestPacket("fixed"));
+        this.transfer(client, server);
+        Assert.assertEquals("fixed", server.<ProtocolTestPacket>readInbound().getMessage());
+    }
+
+    @Test
+    public void testCompactHandshakeUnsolicited() {
+        Socket compact = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public Boolean getCompactEncoding() {
+                return true;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        compact.registerPacket(0, ProtocolTestPacket.class);
+        compact.registerPacket(Integer.MAX_VALUE, SocketInitPacket.class, SocketInitPacket::new);
+
+        // a socket configured for fixed width ids ignores a compact acknowledgement
+        EmbeddedChannel peer = this.connection(compact);
+        EmbeddedChannel fixed = this.connection(this.socket);
+        peer.writeOutbound(new SocketInitPacket(null, true, true));
+        this.transfer(peer, fixed);
+        Assert.assertNull(fixed.readInbound());
+        Assert.assertNull(fixed.readOutbound());
+        Assert.assertFalse(this.socket.isCompact(fixed));
+        Assert.assertFalse(this.socket.isCompactDecoding(fixed));
+
+        // a compact socket ignores it as well while it never requested the compact format
+        EmbeddedChannel unrequested = this.connection(compact);
+        peer.writeOutbound(new SocketInitPacket(null, true, true));
+        this.transfer(peer, unrequested);
+        Assert.assertNull(unrequested.readInbound());
+        Assert.assertNull(unrequested.readOutbound());
+        Assert.assertFalse(compact.isCompact(unrequested));
+        Assert.assertFalse(compact.isCompactDecoding(unrequested));
+
+        fixed.writeOutbound(new ProtocolTestPacket("fixed"));
+        this.transfer(fixed, peer);
+        Assert.assertEquals("fixed", peer.<ProtocolTestPacket>readInbound().getMessage());
+    }
+
+    @Test(expected = DecoderException.class)
+    public void testMaxFrameSize() {
+        ByteBuf buf = Unpooled.buffer();
+        ProtocolUtil.writeVarInt(buf, 4096);
+
+        EmbeddedChannel channel = this.decoder(this.socket);
+        channel.writeInbound(buf);
+    }
+
+    @Test
+    public void testCompression() {
+        Socket socket = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public Integer getCompressionThreshold() {
+                return 64;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        socket.registerPacket(0, ProtocolTestPacket.class);
+
+        String large = "compress me ".repeat(256);
+
+        EmbeddedChannel client = new EmbeddedChannel(new PacketCompressor(socket), new PacketEncoder(socket));
+        client.writeOutbound(new ProtocolTestPacket("small"));
+        client.writeOutbound(new ProtocolTestPacket(large));
+
+        ByteBuf small = client.readOutbound();
+        ByteBuf compressed = client.readOutbound();
+        Assert.assertTrue(compressed.readableBytes() < large.length() / 4);
+
+        EmbeddedChannel server = new EmbeddedChannel(new PacketFrameDecoder(socket), new PacketDecompressor(socket), new PacketDecoder(socket));
+        server.writeInbound(small, compressed);
+
+        Assert.assertEquals("small", server.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertEquals(large, server.<ProtocolTestPacket>readInbound().getMessage());
+    }
+
+    @Test
+    public void testListenerDispatch() {
+        List<String> handled = new ArrayList<>();
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        this.socket.dispatch(new ProtocolTestPacket("unheard"), channel);
+        this.socket.registerListener(ProtocolTestPacket.class, (packet, source) -> handled.add("first " + packet.getMessage()));
+        this.socket.registerListener(ProtocolTestPacket.class, (packet, source) -> {
+            handled.add("second " + packet.getMessage());
+            // registered while dispatching, only sees the next packet
+            this.socket.registerListener(ProtocolTestPacket.class, (next, nextSource) -> handled.add("third " + next.getMessage()));
+        });
+
+        this.socket.dispatch(new ProtocolTestPacket("a"), channel);
+        Assert.assertEquals(Arrays.asList("first a", "second a"), handled);
+        Assert.assertEquals(3, this.socket.getListeners(ProtocolTestPacket.class).size());
+        Assert.assertTrue(this.socket.getListeners(SocketInitPacket.class).isEmpty());
+    }
+
+    @Test
+    public void testListenerExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Map<Channel, List<String>> handled = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(2000);
+
+        this.socket.registerListener(ProtocolTestPacket.class, (packet, channel) -> {
+            handled.computeIfAbsent(channel, key -> Collections.synchronizedList(new ArrayList<>())).add(packet.getMessage());
+            latch.countDown();
+        }, executor);
+
+        EmbeddedChannel first = new EmbeddedChannel();
+        EmbeddedChannel second = new EmbeddedChannel();
+        for (int i = 0; i < 1000; i++) {
+            this.socket.dispatch(new ProtocolTestPacket(String.valueOf(i)), first);
+            this.socket.dispatch(new ProtocolTestPacket(String.valueOf(i)), second);
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        for (List<String> messages : handled.values()) {
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(String.valueOf(i), messages.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testListenerExecutorRejected() {
+        this.socket.registerPacket(1, ProtocolTestPacket.class, ProtocolTestPacket::new, true);
+        this.socket.registerListener(ProtocolTestPacket.class, (packet, channel) -> Assert.fail(), task -> {
+            throw new RejectedExecutionException("rejected");
+        });
+
+        EmbeddedChannel channel = this.decoder(this.socket);
+        channel.writeInbound(this.encode(new ProtocolTestPacket("rejected")));
+
+        ProtocolTestPacket packet = channel.readInbound();
+        this.socket.dispatch(packet, channel);
+
+        // the rejected task released its own reference, so the decoder's reference is the last one
+        Assert.assertTrue(packet.release());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservedPacketId() {
+        this.socket.registerPacket(Socket.REQUEST_ID, ProtocolTestPacket.class);
+    }
+
+    @Test
+    public void testRequestResponse() throws Exception {
+        EmbeddedChannel client = new EmbeddedChannel(new PacketFrameDecoder(this.socket), new PacketDecoder(this.socket), new PacketEncoder(this.socket));
+        EmbeddedChannel server = new EmbeddedChannel(new PacketFrameDecoder(this.socket), new PacketDecoder(this.socket), new PacketEncoder(this.socket));
+
+        ProtocolTestPacket ping = new ProtocolTestPacket("ping");
+        CompletableFuture<ProtocolTestPacket> future = this.socket.request(client, ping, ProtocolTestPacket.class, Duration.ofSeconds(10));
+        server.writeInbound(client.<ByteBuf>readOutbound());
+
+        ProtocolTestPacket request = server.readInbound();
+        Assert.assertEquals("ping", request.getMessage());
+        Assert.assertNotEquals(0, request.getCorrelationId());
+        Assert.assertFalse(request.isResponse());
+
+        ProtocolTestPacket pong = new ProtocolTestPacket("pong");
+        this.socket.reply(server, request, pong);
+        client.writeInbound(server.<ByteBuf>readOutbound());
+
+        ProtocolTestPacket response = client.readInbound();
+        Assert.assertTrue(response.isResponse());
+        Assert.assertFalse(future.isDone());
+
+        // a response with the right correlation id from another channel must not complete the request
+        this.socket.dispatch(response, server);
+        Assert.assertFalse(future.isDone());
+
+        this.socket.dispatch(response, client);
+        Assert.assertEquals("pong", future.get(1, TimeUnit.SECONDS).getMessage());
+        Assert.assertEquals(0, this.socket.getRequests().size());
+
+        // the correlation is never written onto the caller's packets, sending them again yields plain packets
+        Assert.assertEquals(0, ping.getCorrelationId());
+        Assert.assertEquals(0, pong.getCorrelationId());
+        this.socket.send(server, pong);
+        client.writeInbound(server.<ByteBuf>readOutbound());
+
+        ProtocolTestPacket plain = client.readInbound();
+        Assert.assertEquals("pong", plain.getMessage());
+        Assert.assertEquals(0, plain.getCorrelationId());
+        Assert.assertFalse(plain.isResponse());
+    }
+
+    @Test
+    public void testRequestTimeout() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketEncoder(this.socket));
+
+        CompletableFuture<ProtocolTestPacket> timedOut = this.socket.request(channel, new ProtocolTestPacket("lost"), ProtocolTestPacket.class, Duration.ofMillis(50));
+        CompletableFuture<ProtocolTestPacket> closed = this.socket.request(channel, new ProtocolTestPacket("closed"), ProtocolTestPacket.class, Duration.ofSeconds(10));
+
+        try {
+            timedOut.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof TimeoutException);
+        }
+
+        this.socket.getRequests().fail(channel);
+        Assert.assertTrue(closed.isCompletedExceptionally());
+        Assert.assertEquals(0, this.socket.getRequests().size());
+    }
+
+    @Test
+    public void testUnregisteredPacket() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketEncoder(this.socket));
+
+        ChannelFuture future = this.socket.send(channel, new StreamTestPacket(0, "unknown"));
+        Assert.assertTrue(future.cause() instanceof EncoderException);
+        Assert.assertNull(channel.readOutbound());
+
+        // the request fails with the write instead of running into its timeout
+        CompletableFuture<ProtocolTestPacket> request = this.socket.request(channel, new StreamTestPacket(0, "unknown"), ProtocolTestPacket.class, Duration.ofSeconds(10));
+        try {
+            request.get(1, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof EncoderException);
+        }
+        Assert.assertEquals(0, this.socket.getRequests().size());
+    }
+
+    @Test
+    public void testWritePolicy() {
+        WritePolicy[] policy = {WritePolicy.FAIL};
+        Socket socket = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return "127.0.0.1";
+            }
+
+            @Override
+            public Integer getPort() {
+                return 1357;
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return UUID.class;
+            }
+
+            @Override
+            public WritePolicy getWritePolicy() {
+                return policy[0];
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        socket.registerPacket(0, ProtocolTestPacket.class);
+
+        List<Boolean> changes = new ArrayList<>();
+        socket.registerWritabilityListener((channel, writable) -> changes.add(writable));
+
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketEncoder(socket));
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        Assert.assertFalse(socket.send(channel, new ProtocolTestPacket("fail")).isSuccess());
+        Assert.assertTrue(socket.request(channel, new ProtocolTestPacket("request"), ProtocolTestPacket.class, Duration.ofSeconds(10)).isCompletedExceptionally());
+        Assert.assertEquals(0, socket.getRequests().size());
+
+        policy[0] = WritePolicy.DROP;
+        Assert.assertFalse(socket.send(channel, new ProtocolTestPacket("dropped")).isSuccess());
+        Assert.assertTrue(socket.send(channel, Unpooled.buffer().writeByte(1), 1).isSuccess());
+        Assert.assertNotNull(channel.readOutbound());
+        Assert.assertNull(channel.readOutbound());
+
+        // the embedded event loop counts every thread as its own, so blocking writes go straight through
+        policy[0] = WritePolicy.BLOCK;
+        Assert.assertTrue(socket.send(channel, new ProtocolTestPacket("blocked")).isSuccess());
+
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        socket.writabilityChanged(channel);
+        Assert.assertEquals(Collections.singletonList(true), changes);
+    }
+
+    @Test
+    public void testWritePolicyQueued() {
+        Socket socket = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public WritePolicy getWritePolicy() {
+                return WritePolicy.FAIL;
+            }
+
+            @Override
+            public Boolean getWriteBatching() {
+                return true;
+            }
+
+            @Override
+            public Integer getStreamFragmentSize() {
+                return 64;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        socket.registerPacket(0, ProtocolTestPacket.class);
+        socket.registerPacket(1, StreamTestPacket.class, StreamTestPacket::new);
+
+        // the batched messages wait for the event loop, they are counted against the high water mark before they reach the outbound buffer
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketStreamEncoder(socket), new PacketEncoder(socket));
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(512, 1024));
+        socket.initChannel(channel);
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertFalse(socket.send(channel, Unpooled.buffer().writeZero(256), 0).isDone());
+        }
+        Assert.assertFalse(socket.isWritable(channel));
+        Assert.assertFalse(socket.send(channel, Unpooled.buffer().writeZero(256), 0).isSuccess());
+
+        channel.runPendingTasks();
+        Assert.assertTrue(socket.isWritable(channel));
+        for (int i = 0; i < 5; i++) {
+            ReferenceCountUtil.release(channel.readOutbound());
+        }
+
+        // fragments held back by the stream encoder count as well
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            builder.append(UUID.randomUUID());
+        }
+        channel.write(new StreamTestPacket(1, builder.toString()));
+        Assert.assertFalse(socket.isWritable(channel));
+        Assert.assertFalse(socket.send(channel, new ProtocolTestPacket("fail")).isSuccess());
+
+        channel.flush();
+        Assert.assertTrue(socket.isWritable(channel));
+    }
+
+    @Test
+    public void testStreams() {
+        Socket socket = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public Integer getCompressionThreshold() {
+                return 1024;
+            }
+
+            @Override
+            public Integer getStreamFragmentSize() {
+                return 64;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        socket.registerPacket(0, ProtocolTestPacket.class);
+        socket.registerPacket(1, StreamTestPacket.class, StreamTestPacket::new);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 128; i++) {
+            builder.append(UUID.randomUUID());
+        }
+        String bulk = builder.toString();
+
+        PacketStreamEncoder streamEncoder = new PacketStreamEncoder(socket);
+        EmbeddedChannel client = new EmbeddedChannel(streamEncoder, new PacketCompressor(socket), new PacketEncoder(socket));
+        client.write(new StreamTestPacket(1, bulk));
+        client.write(new StreamTestPacket(2, bulk.substring(bulk.length() / 2)));
+        client.write(new ProtocolTestPacket("control"));
+        Assert.assertEquals(2, streamEncoder.getPendingStreams());
+
+        client.flush();
+        Assert.assertEquals(0, streamEncoder.getPendingStreams());
+
+        EmbeddedChannel server = new EmbeddedChannel(new PacketFrameDecoder(socket), new PacketStreamDecoder(socket), new PacketDecompressor(socket), new PacketDecoder(socket));
+        ByteBuf buf;
+        while ((buf = client.readOutbound()) != null) {
+            server.writeInbound(buf);
+        }
+
+        // the control packet overtakes both transfers, and the shorter second stream completes first because fragments take turns
+        Assert.assertEquals("control", server.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertEquals(bulk.substring(bulk.length() / 2), server.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertEquals(bulk, server.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertNull(server.readInbound());
+    }
+
+    @Test
+    public void testCompactHandshakeStreams() {
+        Socket compact = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public Boolean getCompactEncoding() {
+                return true;
+            }
+
+            @Override
+            public Integer getStreamFragmentSize() {
+                return 64;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        compact.registerPacket(0, ProtocolTestPacket.class);
+        compact.registerPacket(1, StreamTestPacket.class, StreamTestPacket::new);
+        compact.registerPacket(Integer.MAX_VALUE, SocketInitPacket.class, SocketInitPacket::new);
+
+        EmbeddedChannel client = new EmbeddedChannel(new PacketFrameDecoder(compact), new PacketStreamDecoder(compact), new PacketDecoder(compact), new PacketStreamEncoder(compact), new PacketEncoder(compact));
+        EmbeddedChannel server = new EmbeddedChannel(new PacketFrameDecoder(compact), new PacketStreamDecoder(compact), new PacketDecoder(compact), new PacketStreamEncoder(compact), new PacketEncoder(compact));
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 16; i++) {
+            builder.append(UUID.randomUUID());
+        }
+        String bulk = builder.toString();
+
+        // a large transfer in the fixed width format is still queued in fragments when the acknowledgement is written
+        server.write(new StreamTestPacket(1, bulk));
+
+        client.writeOutbound(new SocketInitPacket(UUID.randomUUID(), true));
+        this.transfer(client, server);
+        Assert.assertTrue(server.<SocketInitPacket>readInbound().isCompact());
+        Assert.assertTrue(compact.isCompact(server));
+
+        this.transfer(server, client);
+        Assert.assertEquals(bulk, client.<ProtocolTestPacket>readInbound().getMessage());
+        Assert.assertNull(client.readInbound());
+        Assert.assertTrue(compact.isCompactDecoding(client));
+
+        server.writeOutbound(new ProtocolTestPacket("compact"));
+        this.transfer(server, client);
+        Assert.assertEquals("compact", client.<ProtocolTestPacket>readInbound().getMessage());
+    }
+
+    @Test
+    public void testStreamBufferLimit() {
+        Socket socket = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public Integer getMaxStreamBufferSize() {
+                return 256;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketStreamDecoder(socket));
+
+        // each stream stays far below the frame limit, only the sum of all unfinished streams crosses the buffer limit
+        try {
+            for (int stream = 0; stream < 8; stream++) {
+                ByteBuf buf = Unpooled.buffer();
+                ProtocolUtil.writeVarInt(buf, stream);
+                buf.writeByte(0);
+                buf.writeZero(64);
+                channel.writeInbound(buf);
+            }
+            Assert.fail();
+        } catch (DecoderException exception) {
+            Assert.assertFalse(channel.isOpen());
+        }
+    }
+
+    @Test
+    public void testWritePolicyBlock() throws Exception {
+        Socket socket = new Socket(new SocketConfig() {
+            @Override
+            public String getHostname() {
+                return config.getHostname();
+            }
+
+            @Override
+            public Integer getPort() {
+                return config.getPort();
+            }
+
+            @Override
+            public Class<?> getKey() {
+                return config.getKey();
+            }
+
+            @Override
+            public WritePolicy getWritePolicy() {
+                return WritePolicy.BLOCK;
+            }
+
+            @Override
+            public Integer getWriteBlockTimeout() {
+                return 200;
+            }
+        }) {
+            @Override
+            public void connect() {
+            }
+        };
+        socket.registerPacket(0, ProtocolTestPacket.class);
+
+        // a real event loop, unlike the embedded one, so the test thread is not counted as the channel's own
+        EventLoopGroup group = new DefaultEventLoopGroup(1);
+        LocalAddress address = new LocalAddress("protocol-block-" + UUID.randomUUID());
+        try {
+            new ServerBootstrap().group(group).channel(LocalServerChannel.class).childHandler(new ChannelInboundHandlerAdapter()).bind(address).sync();
+            Channel channel = new Bootstrap().group(group).channel(LocalChannel.class).handler(new PacketEncoder(socket)).connect(address).sync().channel();
+
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+            long start = System.nanoTime();
+            Assert.assertFalse(socket.send(channel, new ProtocolTestPacket("timeout")).isSuccess());
+            Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+
+            CompletableFuture<ChannelFuture> blocked = CompletableFuture.supplyAsync(() -> socket.send(channel, new ProtocolTestPacket("blocked")));
+            Thread.sleep(50);
+            Assert.assertFalse(blocked.isDone());
+
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+            socket.writabilityChanged(channel);
+            Assert.assertTrue(blocked.get(1, TimeUnit.SECONDS).sync().isSuccess());
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    private EmbeddedChannel decoder(Socket socket) {
+        return new EmbeddedChannel(new PacketFrameDecoder(socket), new PacketDecoder(socket));
+    }
+
+    private EmbeddedChannel connection(Socket socket) {
+        return new EmbeddedChannel(new PacketFrameDecoder(socket), new PacketDecoder(socket), new PacketEncoder(socket));
+    }
+
+    private void transfer(EmbeddedChannel from, EmbeddedChannel to) {
+        ByteBuf buf;
+        while ((buf = from.readOutbound()) != null) {
+            to.writeInbound(buf);
+        }
+    }
+
+    private ByteBuf encode(ProtocolTestPacket packet) {
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketEncoder(this.socket));
+        channel.writeOutbound(packet);
+
+        return channel.readOutbound();
+    }
+
+    private static final class StreamTestPacket extends ProtocolTestPacket {
+
+        private final int stream;
+
+        private StreamTestPacket() {
+            this.stream = 0;
+        }
+
+        private StreamTestPacket(int stream, String message) {
+            super(message);
+            this.stream = stream;
+        }
+
+        @Override
+        public int getStream() {
+            return this.stream;
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package de.patiix.protocol;
+
+import de.patiix.protocol.socket.ShardPolicy;
+import de.patiix.protocol.socket.implementation.server.PacketShard;
+import de.patiix.protocol.socket.implementation.server.PacketShards;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class PacketShardsTest {
+
+    @Test
+    public void testAssignment() throws InterruptedException {
+        PacketShards shards = new PacketShards(4, 1024, ShardPolicy.DROP);
+
+        try {
+            UUID key = UUID.randomUUID();
+            EmbeddedChannel channel = new EmbeddedChannel();
+            shards.assign(key, channel);
+
+            PacketShard shard = channel.attr(PacketShards.ATTRIBUTE).get();
+            Assert.assertSame(shards.getShard(key), shard);
+
+            List<Integer> handled = new ArrayList<>();
+            CountDownLatch latch = new CountDownLatch(1000);
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                Assert.assertTrue(shards.execute(shard, channel, () -> {
+                    Assert.assertTrue(shard.inShard());
+                    handled.add(value);
+                    latch.countDown();
+                }));
+            }
+
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(i, (int) handled.get(i));
+            }
+        } finally {
+            shards.shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void testBoundedQueue() throws InterruptedException {
+        PacketShards shards = new PacketShards(1, 16, ShardPolicy.CLOSE);
+
+        try {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            PacketShard shard = shards.getShard(0);
+
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            shards.execute(shard, channel, () -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Assert.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 16; i++) {
+                Assert.assertTrue(shards.execute(shard, channel, () -> {
+                }));
+            }
+            Assert.assertEquals(16, shard.getQueueDepth());
+
+            Assert.assertFalse(shards.execute(shard, channel, () -> {
+            }));
+            Assert.assertEquals(1, shard.getDropped());
+            Assert.assertFalse(channel.isOpen());
+
+            release.countDown();
+        } finally {
+            shards.shutdownGracefully();
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package de.patiix.protocol;
+
+import de.patiix.protocol.packet.Packet;
+import de.patiix.protocol.packet.PacketBuffer;
+import de.patiix.protocol.packet.codec.PacketCodec;
+import de.patiix.protocol.packet.codec.PacketField;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+@PacketCodec
+public class ProtocolCodecTestPacket extends Packet {
+
+    @PacketField
+    String message;
+    @PacketField
+    UUID uniqueId;
+    @PacketField
+    int count;
+    @PacketField(compact = true)
+    long timestamp;
+    @PacketField
+    boolean flag;
+    @PacketField
+    Double ratio;
+    @PacketField
+    TimeUnit unit;
+    @PacketField
+    byte[] payload;
+    @PacketField
+    IntList ids;
+    @PacketField
+    List<String> names;
+    @PacketField(compact = true)
+    Map<String, Integer> scores;
+    @PacketField
+    Position position;
+
+    @Override
+    public void read(PacketBuffer buffer) {
+        ProtocolCodecTestPacketCodec.read(buffer, this);
+    }
+
+    @Override
+    public void write(PacketBuffer buffer) {
+        ProtocolCodecTestPacketCodec.write(buffer, this);
+    }
+
+    @PacketCodec
+    public static class Position {
+
+        @PacketField
+        double x;
+        @PacketField
+        double y;
+
+    }
+
+}
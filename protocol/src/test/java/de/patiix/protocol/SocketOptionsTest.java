@@ -0,0 +1,90 @@
+package de.patiix.protocol;
+
+import de.patiix.protocol.socket.SocketConfig;
+import de.patiix.protocol.socket.SocketOptions;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollMode;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.UUID;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Patrick H.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+public class SocketOptionsTest {
+
+    private final SocketConfig config = new SocketConfig() {
+        @Override
+        public String getHostname() {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public Integer getPort() {
+            return 1357;
+        }
+
+        @Override
+        public Class<?> getKey() {
+            return UUID.class;
+        }
+
+        @Override
+        public Integer getReceiveBufferSize() {
+            return 256 * 1024;
+        }
+
+        @Override
+        public Integer getTcpFastOpen() {
+            return 16;
+        }
+    };
+
+    @Test
+    public void testClientDefaults() {
+        Bootstrap bootstrap = new Bootstrap();
+        SocketOptions.apply(bootstrap, this.config, Transport.NIO);
+
+        Assert.assertEquals(true, bootstrap.config().options().get(ChannelOption.TCP_NODELAY));
+        Assert.assertEquals(256 * 1024, bootstrap.config().options().get(ChannelOption.SO_RCVBUF));
+        Assert.assertFalse(bootstrap.config().options().containsKey(ChannelOption.SO_SNDBUF));
+        Assert.assertFalse(bootstrap.config().options().containsKey(EpollChannelOption.TCP_QUICKACK));
+    }
+
+    @Test
+    public void testServerEpoll() {
+        ServerBootstrap serverBootstrap = new ServerBootstrap();
+        SocketOptions.apply(serverBootstrap, this.config, Transport.EPOLL);
+
+        Assert.assertEquals(1024, serverBootstrap.config().options().get(ChannelOption.SO_BACKLOG));
+        Assert.assertEquals(256 * 1024, serverBootstrap.config().options().get(ChannelOption.SO_RCVBUF));
+        Assert.assertEquals(16, serverBootstrap.config().options().get(ChannelOption.TCP_FASTOPEN));
+        Assert.assertEquals(true, serverBootstrap.config().childOptions().get(ChannelOption.TCP_NODELAY));
+        Assert.assertEquals(true, serverBootstrap.config().childOptions().get(EpollChannelOption.TCP_QUICKACK));
+        Assert.assertEquals(EpollMode.EDGE_TRIGGERED, serverBootstrap.config().childOptions().get(EpollChannelOption.EPOLL_MODE));
+    }
+
+}
@@ -1,72 +0,0 @@
-package de.patiix.protocol.packet.serializer;
-
-import de.patiix.protocol.packet.PacketBuffer;
-import de.patiix.protocol.packet.PacketBufferSerializer;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-
-/*
- * MIT License
- *
- * Copyright (c) 2023 Patrick H.
- *
- * Permission is hereby granted, free of charge, to any person obtaining a copy
- * of this software and associated documentation files (the "Software"), to deal
- * in the Software without restriction, including without limitation the rights
- * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- *
- * The above copyright notice and this permission notice shall be included in all
- * copies or substantial portions of the Software.
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
- * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
- * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
- * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
- * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
- * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
- * SOFTWARE.
- */
-public class ObjectSerializer implements PacketBufferSerializer<Object> {
-
-    @Override
-    public Object read(PacketBuffer buffer) {
-        try {
-            int length = buffer.readInt();
-            byte[] data = new byte[length];
-
-            buffer.readBytes(data);
-
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(data);
-            ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
-
-            return objectInputStream.readObject();
-        } catch (IOException | ClassNotFoundException exception) {
-            System.err.println(exception.getMessage());
-        }
-        return null;
-    }
-
-    @Override
-    public void write(PacketBuffer buffer, Object value) {
-        try {
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
-
-            objectOutputStream.writeObject(value);
-            objectOutputStream.flush();
-
-            byte[] data = byteArrayOutputStream.toByteArray();
-
-            buffer.writeInt(data.length);
-            buffer.writeBytes(data);
-        } catch (IOException exception) {
-            System.err.println(exception.getMessage());
-        }
-    }
-
-}